@@ -0,0 +1,103 @@
+package com.pherom.simpletaskmanager.bench;
+
+import com.pherom.simpletaskmanager.SimpletaskmanagerApplication;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.feed.TaskChangeFeed;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Opens {@code bench.feed.subscribers} subscriptions to {@code GET /api/tasks/changes}, creates
+ * {@code bench.feed.changes} tasks one transaction at a time and reports how long it takes until every subscriber
+ * has received every change. Run with {@code mvn -Pbench test -Dtest=ChangeFeedBenchmark}.
+ */
+class ChangeFeedBenchmark {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("bench.feed.subscribers", 2000);
+    private static final int CHANGES = Integer.getInteger("bench.feed.changes", 200);
+
+    @Test
+    void fanOutToManySubscribers() throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpletaskmanagerApplication.class)
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:feed-bench", "--logging.level.root=warn")) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/changes"))
+                    .header("Accept", "text/event-stream")
+                    .build();
+
+            HttpClient client = HttpClient.newHttpClient();
+            CountDownLatch delivered = new CountDownLatch(SUBSCRIBERS);
+            long[] finished = new long[SUBSCRIBERS];
+            List<Flow.Subscription> subscriptions = new ArrayList<>(SUBSCRIBERS);
+            for (int i = 0; i < SUBSCRIBERS; ++i) {
+                int subscriber = i;
+                client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new Flow.Subscriber<String>() {
+                    private int received;
+
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        synchronized (subscriptions) {
+                            subscriptions.add(subscription);
+                        }
+                        subscription.request(Long.MAX_VALUE);
+                    }
+
+                    @Override
+                    public void onNext(String line) {
+                        if (line.equals("event:created") && ++received == CHANGES) {
+                            finished[subscriber] = System.nanoTime();
+                            delivered.countDown();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                }));
+            }
+
+            TaskChangeFeed feed = context.getBean(TaskChangeFeed.class);
+            long connectStart = System.nanoTime();
+            while (feed.subscribers() < SUBSCRIBERS) {
+                assertTrue(System.nanoTime() - connectStart < TimeUnit.MINUTES.toNanos(1), "subscribers did not connect");
+                Thread.sleep(10);
+            }
+            long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+
+            TaskService service = context.getBean(TaskService.class);
+            long start = System.nanoTime();
+            for (int i = 0; i < CHANGES; ++i) {
+                service.save(null, new TaskRequestDTO("Task " + i, "Description of task " + i, false));
+            }
+            long producedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            assertTrue(delivered.await(2, TimeUnit.MINUTES), "not every subscriber received every change");
+
+            long[] millis = Arrays.stream(finished).map(end -> TimeUnit.NANOSECONDS.toMillis(end - start)).sorted().toArray();
+            System.out.printf("%nsubscribers=%d changes=%d connect=%d ms produce=%d ms%n", SUBSCRIBERS, CHANGES, connectMillis, producedMillis);
+            System.out.printf("all changes delivered after: p50 %d ms, p99 %d ms, max %d ms%n",
+                    millis[millis.length / 2], millis[(int) (millis.length * 0.99)], millis[millis.length - 1]);
+            synchronized (subscriptions) {
+                subscriptions.forEach(Flow.Subscription::cancel);
+            }
+        }
+    }
+}
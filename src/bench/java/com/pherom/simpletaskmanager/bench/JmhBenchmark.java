@@ -0,0 +1,37 @@
+package com.pherom.simpletaskmanager.bench;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks in {@code com.pherom.simpletaskmanager.bench.jmh} with the GC profiler attached, so
+ * every result carries its allocation rate. Run with {@code mvn -Pbench test -Dtest=JmhBenchmark}; narrow the
+ * selection with {@code -Djmh.include=<regex>} and tune it with {@code -Djmh.forks}, {@code -Djmh.warmup-iterations},
+ * {@code -Djmh.iterations} and {@code -Djmh.iteration-seconds}. Results are also written as JSON to
+ * {@code target/jmh-result.json} to compare against a baseline.
+ */
+class JmhBenchmark {
+
+    @Test
+    void runMicroBenchmarks() throws RunnerException {
+        TimeValue iterationTime = TimeValue.seconds(Long.getLong("jmh.iteration-seconds", 2));
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("jmh.include", "com\\.pherom\\.simpletaskmanager\\.bench\\.jmh\\..*"))
+                .forks(Integer.getInteger("jmh.forks", 1))
+                .warmupIterations(Integer.getInteger("jmh.warmup-iterations", 3))
+                .warmupTime(iterationTime)
+                .measurementIterations(Integer.getInteger("jmh.iterations", 5))
+                .measurementTime(iterationTime)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json");
+
+        new Runner(options.build()).run();
+    }
+}
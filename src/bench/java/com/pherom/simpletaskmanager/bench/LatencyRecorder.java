@@ -0,0 +1,47 @@
+package com.pherom.simpletaskmanager.bench;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency recorder shared by the HTTP benchmarks: an HdrHistogram in microseconds with three
+ * significant digits, capped at one minute, plus a count of failed requests.
+ */
+final class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long nanos, boolean ok) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        if (!ok) {
+            errors.increment();
+        }
+    }
+
+    void add(LatencyRecorder other) {
+        latencies.add(other.latencies);
+        errors.add(other.errors.sum());
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1e3;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1e3;
+    }
+}
@@ -0,0 +1,268 @@
+package com.pherom.simpletaskmanager.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pherom.simpletaskmanager.SimpletaskmanagerApplication;
+import com.pherom.simpletaskmanager.user.entity.User;
+import com.pherom.simpletaskmanager.user.repository.JpaUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+/**
+ * Open-loop load generator for the task and user endpoints. Requests are scheduled at a fixed rate from a seeded
+ * random mix, so two runs with the same settings issue the same sequence of calls. Latency is measured from each
+ * request's scheduled start rather than from when it was actually sent, so a stalled server shows up in the
+ * percentiles instead of silently lowering the offered load.
+ * <p>
+ * Run with {@code mvn -Pbench test -Dtest=LoadTestBenchmark}. Without {@code -Dload.url} the application is started
+ * in-process on a random port and seeded with tasks and users; with {@code -Dload.url=http://host:port} an already
+ * running instance is driven instead, seeded with tasks over HTTP and using whatever users it already has. The run is
+ * tuned with {@code load.rate}, {@code load.concurrency}, {@code load.seconds}, {@code load.warmup-seconds},
+ * {@code load.tasks}, {@code load.users} and {@code load.seed}.
+ */
+class LoadTestBenchmark {
+
+    private static final String URL = System.getProperty("load.url");
+    private static final int RATE = Integer.getInteger("load.rate", 500);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 64);
+    private static final int TASKS = Integer.getInteger("load.tasks", 5_000);
+    private static final int USERS = Integer.getInteger("load.users", 500);
+    private static final long SEED = Long.getLong("load.seed", 42);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("load.seconds", 30));
+
+    private enum Endpoint {
+        CREATE_TASK("POST /api/tasks", 10),
+        GET_TASK("GET /api/tasks/{id}", 35),
+        LIST_TASKS("GET /api/tasks", 15),
+        UPDATE_TASK("PUT /api/tasks/{id}", 10),
+        DELETE_TASK("DELETE /api/tasks/{id}", 5),
+        GET_USER("GET /api/users/{id}", 10),
+        GET_USER_BY_USERNAME("GET /api/users/by-username/{username}", 5),
+        LIST_USERS("GET /api/users", 5),
+        UPDATE_USER("PUT /api/users/{id}", 5);
+
+        private final String label;
+        private final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    private record Target(long id, String username) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentLinkedQueue<Long> createdTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Test
+    void driveMixedWorkload() throws Exception {
+        if (URL != null) {
+            run(URL, null);
+            return;
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpletaskmanagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load",
+                        "logging.level.root=warn")
+                .run()) {
+            run("http://localhost:" + context.getEnvironment().getProperty("local.server.port"), context);
+        }
+    }
+
+    private void run(String baseUrl, ConfigurableApplicationContext context) throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(5)).build();
+            long[] tasks = seedTasks(http, baseUrl);
+            List<Target> users = (context != null) ? seedUsers(context) : discoverUsers(http, baseUrl);
+
+            SplittableRandom random = new SplittableRandom(SEED);
+            drive(http, clients, baseUrl, tasks, users, random, WARMUP);
+            Map<Endpoint, LatencyRecorder> results = drive(http, clients, baseUrl, tasks, users, random, MEASUREMENT);
+            report(baseUrl, results);
+        }
+    }
+
+    private long[] seedTasks(HttpClient http, String baseUrl) throws Exception {
+        long[] ids = new long[TASKS];
+        int seeded = 0;
+        while (seeded < TASKS) {
+            int batch = Math.min(1000, TASKS - seeded);
+            int offset = seeded;
+            List<Map<String, Object>> body = IntStream.range(0, batch)
+                    .mapToObj(i -> Map.<String, Object>of("title", "Load task " + (offset + i), "description", "Seeded by the load test",
+                            "completed", (offset + i) % 2 == 0))
+                    .toList();
+
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            for (JsonNode task : objectMapper.readTree(response.body())) {
+                ids[seeded++] = task.get("id").asLong();
+            }
+        }
+        return ids;
+    }
+
+    private List<Target> seedUsers(ConfigurableApplicationContext context) {
+        JpaUserRepository repository = context.getBean(JpaUserRepository.class);
+
+        List<User> saved = repository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(i -> new User("load-user-" + i, "password", "load-user-" + i + "@example.com"))
+                .toList());
+        return saved.stream().map(user -> new Target(user.getId(), user.getUsername())).toList();
+    }
+
+    private List<Target> discoverUsers(HttpClient http, String baseUrl) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/users?limit=" + USERS)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Target> users = new ArrayList<>();
+        for (JsonNode user : objectMapper.readTree(response.body())) {
+            users.add(new Target(user.get("id").asLong(), user.get("username").asText()));
+        }
+        return users;
+    }
+
+    /**
+     * Issues one request every {@code 1 / RATE} seconds until the deadline, with at most {@code CONCURRENCY} in
+     * flight. Each request's latency is measured from its scheduled start, including any wait for a free slot.
+     */
+    private Map<Endpoint, LatencyRecorder> drive(HttpClient http, ExecutorService clients, String baseUrl, long[] tasks, List<Target> users,
+                                       SplittableRandom random, Duration duration) throws InterruptedException {
+        Map<Endpoint, LatencyRecorder> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new LatencyRecorder());
+        }
+
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long start = System.nanoTime();
+        long requests = duration.toNanos() / interval;
+
+        for (long i = 0; i < requests; ++i) {
+            long scheduled = start + i * interval;
+            LockSupport.parkNanos(scheduled - System.nanoTime());
+
+            Endpoint endpoint = pick(random, users.isEmpty());
+            HttpRequest request = request(endpoint, baseUrl, tasks, users, random);
+            inFlight.acquire();
+            clients.execute(() -> {
+                boolean ok;
+                try {
+                    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                    int status = response.statusCode();
+                    ok = status < 300 || (endpoint == Endpoint.DELETE_TASK && status == 404);
+                    if (endpoint == Endpoint.CREATE_TASK && status == 201) {
+                        response.headers().firstValue("Location")
+                                .map(location -> Long.parseLong(location.substring(location.lastIndexOf('/') + 1)))
+                                .ifPresent(createdTasks::add);
+                    }
+                } catch (Exception e) {
+                    ok = false;
+                }
+                stats.get(endpoint).record(System.nanoTime() - scheduled, ok);
+                inFlight.release();
+            });
+        }
+
+        inFlight.acquire(CONCURRENCY);
+        inFlight.release(CONCURRENCY);
+        return stats;
+    }
+
+    private static Endpoint pick(SplittableRandom random, boolean withoutUsers) {
+        Endpoint[] endpoints = Endpoint.values();
+        int total = 0;
+        for (Endpoint endpoint : endpoints) {
+            total += (withoutUsers && endpoint.label.contains("/users")) ? 0 : endpoint.weight;
+        }
+
+        int roll = random.nextInt(total);
+        for (Endpoint endpoint : endpoints) {
+            int weight = (withoutUsers && endpoint.label.contains("/users")) ? 0 : endpoint.weight;
+            if (roll < weight) {
+                return endpoint;
+            }
+            roll -= weight;
+        }
+        throw new IllegalStateException();
+    }
+
+    private HttpRequest request(Endpoint endpoint, String baseUrl, long[] tasks, List<Target> users, SplittableRandom random) {
+        long task = tasks[random.nextInt(tasks.length)];
+        Target user = users.isEmpty() ? null : users.get(random.nextInt(users.size()));
+        String tasksUrl = baseUrl + "/api/tasks";
+        String usersUrl = baseUrl + "/api/users";
+
+        return switch (endpoint) {
+            case CREATE_TASK -> json(HttpRequest.newBuilder(URI.create(tasksUrl)),
+                    "{\"title\":\"Load task " + sequence.incrementAndGet() + "\",\"description\":\"Created by the load test\"}", "POST");
+            case GET_TASK -> HttpRequest.newBuilder(URI.create(tasksUrl + "/" + task)).GET().build();
+            case LIST_TASKS -> HttpRequest.newBuilder(URI.create(tasksUrl + "?limit=50" + (random.nextBoolean() ? "&completed=true" : ""))).GET().build();
+            case UPDATE_TASK -> json(HttpRequest.newBuilder(URI.create(tasksUrl + "/" + task)),
+                    "{\"title\":\"Load task " + task + "\",\"completed\":" + random.nextBoolean() + "}", "PUT");
+            case DELETE_TASK -> {
+                Long created = createdTasks.poll();
+                yield HttpRequest.newBuilder(URI.create(tasksUrl + "/" + ((created != null) ? created : Long.MAX_VALUE))).DELETE().build();
+            }
+            case GET_USER -> HttpRequest.newBuilder(URI.create(usersUrl + "/" + user.id())).GET().build();
+            case GET_USER_BY_USERNAME -> HttpRequest.newBuilder(URI.create(usersUrl + "/by-username/" + user.username())).GET().build();
+            case LIST_USERS -> HttpRequest.newBuilder(URI.create(usersUrl + "?limit=50")).GET().build();
+            case UPDATE_USER -> json(HttpRequest.newBuilder(URI.create(usersUrl + "/" + user.id())),
+                    "{\"email\":\"" + user.username() + "-" + sequence.incrementAndGet() + "@example.org\"}", "PUT");
+        };
+    }
+
+    private static HttpRequest json(HttpRequest.Builder builder, String body, String method) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static void report(String baseUrl, Map<Endpoint, LatencyRecorder> results) {
+        System.out.printf("%ntarget=%s rate=%d/s concurrency=%d duration=%ss seed=%d%n",
+                baseUrl, RATE, CONCURRENCY, MEASUREMENT.toSeconds(), SEED);
+        System.out.printf("%-40s %8s %9s %9s %9s %9s %9s %7s%n", "endpoint", "count", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder latencies = results.get(endpoint);
+            print(endpoint.label, latencies);
+            total.add(latencies);
+        }
+        print("all", total);
+    }
+
+    private static void print(String label, LatencyRecorder latencies) {
+        System.out.printf("%-40s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %7d%n", label, latencies.count(),
+                latencies.count() / (double) MEASUREMENT.toSeconds(),
+                latencies.percentileMillis(50), latencies.percentileMillis(99),
+                latencies.percentileMillis(99.9), latencies.maxMillis(), latencies.errors());
+    }
+}
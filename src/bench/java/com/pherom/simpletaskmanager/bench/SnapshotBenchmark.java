@@ -0,0 +1,46 @@
+package com.pherom.simpletaskmanager.bench;
+
+import com.pherom.simpletaskmanager.SimpletaskmanagerApplication;
+import com.pherom.simpletaskmanager.snapshot.SnapshotService;
+import com.pherom.simpletaskmanager.snapshot.dto.SnapshotSummaryDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * Writes a snapshot of {@code bench.snapshot.tasks} tasks and restores it into the same in-memory database,
+ * reporting the time of both and the file size. The restore time includes rebuilding the search index and stats.
+ * Run with {@code mvn -Pbench test -Dtest=SnapshotBenchmark}; large task counts need a bigger heap, e.g.
+ * {@code -DargLine=-Xmx4g}.
+ */
+class SnapshotBenchmark {
+
+    private static final int TASKS = Integer.getInteger("bench.snapshot.tasks", 250_000);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void writeAndRestoreSnapshot() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpletaskmanagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:snapshot-bench", "--snapshot.directory=" + directory,
+                        "--logging.level.root=warn")) {
+            context.getBean(JdbcTemplate.class).update("insert into tasks (id, title, description, completed, version) "
+                    + "select x, concat('Task ', x), concat('Description of task ', x), mod(x, 2) = 0, 0 from system_range(1, ?)", TASKS);
+
+            SnapshotService snapshots = context.getBean(SnapshotService.class);
+            SnapshotSummaryDTO written = snapshots.write("bench");
+            SnapshotSummaryDTO restored = snapshots.restore("bench");
+
+            System.out.printf("%ntasks=%d file=%.1f MB%n", written.tasks(), written.bytes() / 1048576.0);
+            System.out.printf("write   %8d ms%n", written.millis());
+            System.out.printf("restore %8d ms%n", restored.millis());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.pherom.simpletaskmanager.bench;
+
+import com.pherom.simpletaskmanager.SimpletaskmanagerApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long the persistent profile takes to become ready with a large task table on disk. The database
+ * is seeded once with {@code bench.startup.tasks} rows through a single {@code system_range} insert, then the
+ * application is restarted {@code bench.startup.runs} times. Each run reports the time until the context is
+ * started and the time until it is ready, the difference being the startup loaders (search index, stats, user
+ * lookup filters). Run with {@code mvn -Pbench test -Dtest=StartupBenchmark}.
+ */
+class StartupBenchmark {
+
+    private static final int TASKS = Integer.getInteger("bench.startup.tasks", 1_000_000);
+    private static final int RUNS = Integer.getInteger("bench.startup.runs", 3);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void timeToReadyWithTasksOnDisk() throws IOException {
+        long seedStart = System.nanoTime();
+        try (ConfigurableApplicationContext context = start(new AtomicLong())) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            jdbc.update("insert into tasks (id, title, description, completed, version) "
+                    + "select x, concat('Task ', x), concat('Description of task ', x), mod(x, 2) = 0, 0 from system_range(1, ?)", TASKS);
+            jdbc.execute("alter sequence tasks_seq restart with " + (TASKS + 1));
+        }
+        long seedMillis = (System.nanoTime() - seedStart) / 1_000_000;
+        long fileBytes = Files.size(directory.resolve("taskdb.mv.db"));
+
+        long[] startedMillis = new long[RUNS];
+        long[] readyMillis = new long[RUNS];
+        for (int run = 0; run < RUNS; ++run) {
+            AtomicLong started = new AtomicLong();
+            long begin = System.nanoTime();
+            try (ConfigurableApplicationContext ignored = start(started)) {
+                readyMillis[run] = (System.nanoTime() - begin) / 1_000_000;
+                startedMillis[run] = (started.get() - begin) / 1_000_000;
+            }
+        }
+
+        System.out.printf("%ntasks=%d seed=%d ms file=%.1f MB%n", TASKS, seedMillis, fileBytes / 1048576.0);
+        System.out.printf("%-6s %12s %12s%n", "run", "started ms", "ready ms");
+        for (int run = 0; run < RUNS; ++run) {
+            System.out.printf("%-6d %12d %12d%n", run + 1, startedMillis[run], readyMillis[run]);
+        }
+        System.out.printf("%-6s %12d %12d%n", "median", median(startedMillis), median(readyMillis));
+    }
+
+    private ConfigurableApplicationContext start(AtomicLong started) {
+        return new SpringApplicationBuilder(SimpletaskmanagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("persistent")
+                .listeners(event -> {
+                    if (event instanceof ApplicationStartedEvent) {
+                        started.set(System.nanoTime());
+                    }
+                })
+                .run("--task.storage.directory=" + directory, "--logging.level.root=warn");
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
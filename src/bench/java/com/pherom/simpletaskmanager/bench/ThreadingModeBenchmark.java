@@ -0,0 +1,143 @@
+package com.pherom.simpletaskmanager.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pherom.simpletaskmanager.SimpletaskmanagerApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs the same mixed read/write workload against the application with platform and with virtual request
+ * threads and prints throughput and latency percentiles for both. Run with {@code mvn -Pbench test}; the
+ * workload is tuned with {@code -Dbench.*} system properties. Updates race each other without If-Match, so some of
+ * them are rejected with 409 and reported as non-2xx.
+ */
+class ThreadingModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 400);
+    private static final int TASKS = Integer.getInteger("bench.tasks", 10_000);
+    private static final int TOMCAT_THREADS = Integer.getInteger("bench.tomcat-threads", 200);
+    private static final int POOL_SIZE = Integer.getInteger("bench.pool-size", 10);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("bench.warmup-seconds", 5));
+    private static final Duration MEASUREMENT = Duration.ofSeconds(Long.getLong("bench.seconds", 20));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%nconcurrency=%d tasks=%d tomcat-threads=%d pool-size=%d duration=%ss%n",
+                CONCURRENCY, TASKS, TOMCAT_THREADS, POOL_SIZE, MEASUREMENT.toSeconds());
+        System.out.printf("%-10s %12s %10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "non-2xx");
+        for (Result result : List.of(platform, virtual)) {
+            LatencyRecorder latencies = result.latencies();
+            System.out.printf("%-10s %12.0f %10.2f %10.2f %10.2f %10.2f %8d%n", result.mode(), result.throughput(),
+                    latencies.percentileMillis(50), latencies.percentileMillis(99), latencies.percentileMillis(99.9),
+                    latencies.maxMillis(), latencies.errors());
+        }
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpletaskmanagerApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + mode,
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "logging.level.root=warn")
+                .run();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+            HttpClient http = HttpClient.newBuilder().executor(clients).build();
+            long[] ids = seed(http, baseUrl);
+
+            drive(http, clients, baseUrl, ids, WARMUP, mode);
+            return drive(http, clients, baseUrl, ids, MEASUREMENT, mode);
+        }
+    }
+
+    private long[] seed(HttpClient http, String baseUrl) throws Exception {
+        long[] ids = new long[TASKS];
+        int seeded = 0;
+        while (seeded < TASKS) {
+            int batch = Math.min(1000, TASKS - seeded);
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < batch; ++i) {
+                body.append(i == 0 ? "" : ",").append("{\"title\":\"Task ").append(seeded + i)
+                        .append("\",\"description\":\"Benchmark task\",\"completed\":false}");
+            }
+            body.append(']');
+
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            for (JsonNode task : objectMapper.readTree(response.body())) {
+                ids[seeded++] = task.get("id").asLong();
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Each client loops over 70% single-task reads, 20% list pages and 10% updates until the deadline.
+     */
+    private Result drive(HttpClient http, ExecutorService clients, String baseUrl, long[] ids, Duration duration, String mode)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LatencyRecorder latencies = new LatencyRecorder();
+        List<Future<?>> workers = new ArrayList<>(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; ++i) {
+            workers.add(clients.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    long id = ids[random.nextInt(ids.length)];
+                    int pick = random.nextInt(100);
+                    HttpRequest request = (pick < 70)
+                            ? HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build()
+                            : (pick < 90)
+                            ? HttpRequest.newBuilder(URI.create(baseUrl + "?limit=20")).GET().build()
+                            : HttpRequest.newBuilder(URI.create(baseUrl + "/" + id))
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString("{\"completed\":" + random.nextBoolean() + "}"))
+                                    .build();
+
+                    long start = System.nanoTime();
+                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    latencies.record(System.nanoTime() - start, status < 300);
+                }
+                return null;
+            }));
+        }
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        return new Result(mode, latencies, duration);
+    }
+
+    private record Result(String mode, LatencyRecorder latencies, Duration duration) {
+
+        double throughput() {
+            return latencies.count() / (duration.toNanos() / 1e9);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.pherom.simpletaskmanager.bench.jmh;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson round trips of task list payloads, using an object mapper configured the way Spring Boot configures
+ * the one behind the HTTP message converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmarks {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    private ObjectWriter responseWriter;
+    private ObjectReader requestReader;
+    private List<TaskResponseDTO> responses;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(new TypeReference<List<TaskResponseDTO>>() {});
+        requestReader = objectMapper.readerFor(new TypeReference<List<TaskRequestDTO>>() {});
+
+        responses = IntStream.range(0, size)
+                .mapToObj(i -> new TaskResponseDTO(i, "Task number " + i, "Description of task number " + i, i % 2 == 0, i % 7))
+                .toList();
+        requestJson = objectMapper.writeValueAsBytes(IntStream.range(0, size)
+                .mapToObj(i -> new TaskRequestDTO("Task number " + i, "Description of task number " + i, i % 2 == 0))
+                .toList());
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws IOException {
+        return responseWriter.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public List<TaskRequestDTO> deserializeRequests() throws IOException {
+        return requestReader.readValue(requestJson);
+    }
+}
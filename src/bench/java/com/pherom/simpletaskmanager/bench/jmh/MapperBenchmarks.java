@@ -0,0 +1,47 @@
+package com.pherom.simpletaskmanager.bench.jmh;
+
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.entity.Task;
+import com.pherom.simpletaskmanager.task.mapper.TaskMapper;
+import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
+import com.pherom.simpletaskmanager.user.entity.User;
+import com.pherom.simpletaskmanager.user.mapper.UserMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmarks {
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private Task task;
+    private TaskRequestDTO taskRequest;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        task = new Task(42, "Write the quarterly report", "Collect numbers from every team and summarize them", true);
+        taskRequest = new TaskRequestDTO("Write the quarterly report", "Collect numbers from every team and summarize them", true);
+        user = new User(42, "jdoe", "secret-password", "jdoe@example.com");
+    }
+
+    @Benchmark
+    public TaskResponseDTO taskToDTO() {
+        return taskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public Task taskRequestToTask() {
+        return taskMapper.toTask(taskRequest);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToDTO() {
+        return userMapper.toDTO(user);
+    }
+}
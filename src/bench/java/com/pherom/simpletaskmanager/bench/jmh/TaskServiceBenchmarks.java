@@ -0,0 +1,88 @@
+package com.pherom.simpletaskmanager.bench.jmh;
+
+import com.pherom.simpletaskmanager.SimpletaskmanagerApplication;
+import com.pherom.simpletaskmanager.task.cache.TaskCache;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * {@link TaskService} hot paths against the embedded H2 database, with the application context started once per
+ * fork. {@code findById} hits the task cache after the first touch of each id, while {@code findByIdUncached}
+ * evicts the id first and so measures the database load; the version lookup always goes to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskServiceBenchmarks {
+
+    private static final int TASKS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TaskService service;
+    private TaskCache cache;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(SimpletaskmanagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh",
+                        "logging.level.root=warn")
+                .run();
+        service = context.getBean(TaskService.class);
+        cache = context.getBean(TaskCache.class);
+
+        List<TaskResponseDTO> seeded = service.saveAll(IntStream.range(0, TASKS)
+                .mapToObj(i -> new TaskRequestDTO("Task number " + i, "Description of task number " + i, i % 2 == 0))
+                .toList());
+        ids = seeded.stream().mapToLong(TaskResponseDTO::id).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<TaskResponseDTO> findById() {
+        return service.findById(randomId());
+    }
+
+    @Benchmark
+    public Optional<TaskResponseDTO> findByIdUncached() {
+        long id = randomId();
+        cache.invalidate(id);
+        return service.findById(id);
+    }
+
+    @Benchmark
+    public Optional<Long> findVersionById() {
+        return service.findVersionById(randomId());
+    }
+
+    @Benchmark
+    public TaskResponseDTO create() {
+        return service.save(null, new TaskRequestDTO("New task", "Created by the benchmark", false));
+    }
+
+    @Benchmark
+    public TaskResponseDTO update() {
+        return service.save(randomId(), new TaskRequestDTO(null, null, ThreadLocalRandom.current().nextBoolean()));
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,46 @@
+package com.pherom.simpletaskmanager.cache;
+
+import com.pherom.simpletaskmanager.sql.SqlStatementRecorder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Helpers for Caffeine async caches whose loads block on JDBC. Caffeine computes entries under a
+ * {@code ConcurrentHashMap} bin lock, and a virtual thread blocking inside it pins its carrier. On virtual
+ * threads loads therefore run on a fresh virtual thread outside the lock; on platform threads they keep
+ * running on the caller, and either way their statements count toward the caller's {@link SqlStatementRecorder}
+ * recordings.
+ */
+public final class CacheLoading {
+
+    private CacheLoading() {
+    }
+
+    public static Executor executor(boolean virtualThreads) {
+        return virtualThreads ? SqlStatementRecorder.propagating(Executors.newVirtualThreadPerTaskExecutor()) : Runnable::run;
+    }
+
+    public static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Matches loaded values by the predicate, and also loads still in flight, which may have read the rows a
+     * committed change just replaced.
+     */
+    public static <V> Predicate<CompletableFuture<V>> loadedMatching(Predicate<V> predicate) {
+        return future -> !future.isDone() || future.isCompletedExceptionally()
+                || future.getNow(null) == null || predicate.test(future.getNow(null));
+    }
+}
@@ -1,9 +1,16 @@
 package com.pherom.simpletaskmanager.exception;
 
+import com.pherom.simpletaskmanager.pagination.InvalidCursorException;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -15,4 +22,40 @@ public class GlobalExceptionHandler {
                 .reduce("", (s1, s2) -> s1 + s2 + "; "));
     }
 
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<String> handleReactiveValidation(WebExchangeBindException ex) {
+        return ResponseEntity.badRequest().body(ex.getFieldErrors().stream()
+                .map(f -> f.getField() + ": " + f.getDefaultMessage())
+                .reduce("", (s1, s2) -> s1 + s2 + "; "));
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<String> handleMethodValidation(HandlerMethodValidationException ex) {
+        return ResponseEntity.badRequest().body(ex.getParameterValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> (error instanceof FieldError f)
+                                ? f.getField() + ": " + f.getDefaultMessage()
+                                : result.getMethodParameter().getParameterName() + ": " + error.getDefaultMessage()))
+                .reduce("", (s1, s2) -> s1 + s2 + "; "));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(VersionMismatchException.class)
+    public ResponseEntity<String> handleVersionMismatch(VersionMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
+    /**
+     * A concurrent write won the race against an update that sent no {@code If-Match}. Conditional updates are
+     * turned into {@link VersionMismatchException} by the services, so only those answer 412.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("The resource was modified concurrently");
+    }
+
 }
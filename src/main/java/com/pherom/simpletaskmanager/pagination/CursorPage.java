@@ -0,0 +1,35 @@
+package com.pherom.simpletaskmanager.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_LIMIT = 1000;
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}; the extra row only signals that
+     * another page exists and is never returned.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, T> mapper, ToLongFunction<T> idOf) {
+        List<T> items = rows.stream().limit(limit).map(mapper).toList();
+        String nextCursor = (rows.size() > limit) ? Cursors.encode(idOf.applyAsLong(items.get(items.size() - 1))) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(items);
+    }
+}
@@ -0,0 +1,34 @@
+package com.pherom.simpletaskmanager.pagination;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+public final class Cursors {
+
+    public static final long START = 0L;
+
+    private Cursors() {
+    }
+
+    public static String encode(long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException(cursor);
+        }
+
+        if (bytes.length != Long.BYTES) {
+            throw new InvalidCursorException(cursor);
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+}
@@ -0,0 +1,29 @@
+package com.pherom.simpletaskmanager.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Spring Boot backs off from the JDBC datasource once an R2DBC connection factory exists, but the JPA stack still
+ * owns the schema and serves the non-reactive endpoints, so the datasource is declared explicitly here.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class JdbcDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
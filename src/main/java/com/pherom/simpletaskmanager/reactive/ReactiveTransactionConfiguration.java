@@ -0,0 +1,23 @@
+package com.pherom.simpletaskmanager.reactive;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Transactions for the reactive writes. The R2DBC transaction manager is not registered as a bean: the JPA
+ * transaction manager only backs off while no other transaction manager exists, and it still serves
+ * {@code @Transactional} on the JPA side, so reactive code reaches its manager only through this operator.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveTransactionConfiguration {
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
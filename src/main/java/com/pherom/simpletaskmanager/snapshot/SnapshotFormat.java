@@ -0,0 +1,24 @@
+package com.pherom.simpletaskmanager.snapshot;
+
+/**
+ * Layout of a snapshot file. After an 8 byte header (magic, format version) come sections, each a one byte table
+ * tag followed by blocks of up to {@link #BLOCK_ROWS} rows. A block starts with its row count and body length and
+ * stores each field as a column prefixed with its byte length: fixed-width values back to back, booleans as one
+ * byte per row, and strings as a column of UTF-8 lengths ({@code -1} for null) followed by the concatenated bytes.
+ * A row count of zero ends the section.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x53544D53;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int BLOCK_HEADER_BYTES = 8;
+    static final int BLOCK_ROWS = 65_536;
+
+    static final byte TASKS = 1;
+    static final byte USERS = 2;
+
+    private SnapshotFormat() {
+
+    }
+}
@@ -0,0 +1,142 @@
+package com.pherom.simpletaskmanager.snapshot;
+
+import com.pherom.simpletaskmanager.snapshot.exception.InvalidSnapshotException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter}. Each block body is memory-mapped on its own, so files larger
+ * than a single mapping are fine and only one block is resident at a time.
+ */
+class SnapshotReader implements Closeable {
+
+    private final String name;
+    private final FileChannel channel;
+    private long position;
+
+    SnapshotReader(String name, Path path) throws IOException {
+        this.name = name;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        ByteBuffer header = read(SnapshotFormat.HEADER_BYTES);
+        if (header.getInt() != SnapshotFormat.MAGIC || header.getInt() != SnapshotFormat.VERSION) {
+            throw new InvalidSnapshotException(name, "unknown format");
+        }
+    }
+
+    void beginSection(byte table) throws IOException {
+        if (read(1).get() != table) {
+            throw new InvalidSnapshotException(name, "expected section " + table);
+        }
+    }
+
+    /**
+     * Maps the next block of the current section, or returns null once the section has ended.
+     */
+    Block nextBlock() throws IOException {
+        ByteBuffer header = read(SnapshotFormat.BLOCK_HEADER_BYTES);
+        int rows = header.getInt();
+        int bodyBytes = header.getInt();
+        if (rows == 0) {
+            return null;
+        }
+        if (rows < 0 || bodyBytes < 0 || position + bodyBytes > channel.size()) {
+            throw new InvalidSnapshotException(name, "truncated block at offset " + (position - SnapshotFormat.BLOCK_HEADER_BYTES));
+        }
+
+        MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, position, bodyBytes);
+        position += bodyBytes;
+        return new Block(name, rows, body);
+    }
+
+    private ByteBuffer read(int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new InvalidSnapshotException(name, "unexpected end of file");
+            }
+        }
+        position += bytes;
+        return buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * A mapped block whose columns are read in the order they were written.
+     */
+    static final class Block {
+
+        private final String name;
+        private final int rows;
+        private final ByteBuffer body;
+
+        private Block(String name, int rows, ByteBuffer body) {
+            this.name = name;
+            this.rows = rows;
+            this.body = body;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        long[] longs() {
+            long[] values = new long[rows];
+            column(rows * Long.BYTES).asLongBuffer().get(values);
+            return values;
+        }
+
+        boolean[] booleans() {
+            ByteBuffer column = column(rows);
+            boolean[] values = new boolean[rows];
+            for (int row = 0; row < rows; ++row) {
+                values[row] = column.get(row) != 0;
+            }
+            return values;
+        }
+
+        String[] strings() {
+            ByteBuffer lengths = column(rows * Integer.BYTES);
+            int dataBytes = body.getInt();
+            ByteBuffer data = body.slice(body.position(), dataBytes);
+            body.position(body.position() + dataBytes);
+
+            String[] values = new String[rows];
+            byte[] scratch = new byte[64];
+            int offset = 0;
+            for (int row = 0; row < rows; ++row) {
+                int length = lengths.getInt(row * Integer.BYTES);
+                if (length < 0) {
+                    continue;
+                }
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                data.get(offset, scratch, 0, length);
+                values[row] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                offset += length;
+            }
+            return values;
+        }
+
+        private ByteBuffer column(int expectedBytes) {
+            int bytes = body.getInt();
+            if (bytes != expectedBytes) {
+                throw new InvalidSnapshotException(name, "column of " + bytes + " bytes where " + expectedBytes + " were expected");
+            }
+            ByteBuffer column = body.slice(body.position(), bytes);
+            body.position(body.position() + bytes);
+            return column;
+        }
+    }
+}
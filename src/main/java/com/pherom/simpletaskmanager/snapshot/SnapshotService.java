@@ -0,0 +1,88 @@
+package com.pherom.simpletaskmanager.snapshot;
+
+import com.pherom.simpletaskmanager.snapshot.dto.SnapshotSummaryDTO;
+import com.pherom.simpletaskmanager.snapshot.exception.SnapshotNotFoundException;
+import com.pherom.simpletaskmanager.user.cache.UserLookupCacheLoader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes and restores binary snapshots of every task and user, kept as {@code <name>.snapshot} files under
+ * {@code snapshot.directory}. A snapshot is written to a temporary file and moved into place, so a restore never
+ * sees a half-written file.
+ * <p>
+ * A restore replaces all rows and moves the task and user id generators past the restored ids. The task caches,
+ * search index, stats and journal reload from the restored table through their change listeners; the user lookup
+ * filters are rebuilt afterwards.
+ */
+@Service
+public class SnapshotService {
+
+    private static final String EXTENSION = ".snapshot";
+
+    private final SnapshotStore store;
+    private final UserLookupCacheLoader userLookupCacheLoader;
+    private final Path directory;
+
+    public SnapshotService(SnapshotStore store, UserLookupCacheLoader userLookupCacheLoader,
+                           @Value("${snapshot.directory:./snapshots}") Path directory) {
+        this.store = store;
+        this.userLookupCacheLoader = userLookupCacheLoader;
+        this.directory = directory;
+    }
+
+    public SnapshotSummaryDTO write(String name) {
+        long start = System.nanoTime();
+        Path target = directory.resolve(name + EXTENSION);
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, name, ".tmp");
+            try {
+                SnapshotStore.Counts counts;
+                try (SnapshotWriter writer = new SnapshotWriter(temporary)) {
+                    counts = store.dump(writer);
+                }
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return summary(name, counts, target, start);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public SnapshotSummaryDTO restore(String name) {
+        long start = System.nanoTime();
+        Path source = directory.resolve(name + EXTENSION);
+        if (!Files.isRegularFile(source)) {
+            throw new SnapshotNotFoundException(name);
+        }
+
+        SnapshotStore.Counts counts;
+        try (SnapshotReader reader = new SnapshotReader(name, source)) {
+            counts = store.replaceAll(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        userLookupCacheLoader.load();
+        return summary(name, counts, source, start);
+    }
+
+    private static SnapshotSummaryDTO summary(String name, SnapshotStore.Counts counts, Path file, long start) {
+        try {
+            return new SnapshotSummaryDTO(name, counts.tasks(), counts.users(), Files.size(file),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
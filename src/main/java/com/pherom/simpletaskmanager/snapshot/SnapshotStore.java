@@ -0,0 +1,177 @@
+package com.pherom.simpletaskmanager.snapshot;
+
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import com.pherom.simpletaskmanager.task.repository.TaskIdSequence;
+import com.pherom.simpletaskmanager.task.repository.TaskSyncRepository;
+import com.pherom.simpletaskmanager.task.service.TaskWriteTracker;
+import com.pherom.simpletaskmanager.user.event.AllUsersDeletedEvent;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Moves rows between the database and snapshot files with plain JDBC, bypassing the persistence context so
+ * millions of rows never become managed entities.
+ */
+@Repository
+public class SnapshotStore {
+
+    private static final String INSERT_TASK = "insert into tasks (id, title, description, completed, version) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER = "insert into users (id, username, password, email, version) values (?, ?, ?, ?, ?)";
+
+    record Counts(long tasks, long users) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TaskSyncRepository taskSyncRepository;
+    private final TaskIdSequence taskIdSequence;
+    private final TaskWriteTracker writeTracker;
+    private final ApplicationEventPublisher publisher;
+
+    public SnapshotStore(JdbcTemplate jdbc, TaskSyncRepository taskSyncRepository, TaskIdSequence taskIdSequence,
+                         TaskWriteTracker writeTracker, ApplicationEventPublisher publisher) {
+        this.jdbc = jdbc;
+        this.taskSyncRepository = taskSyncRepository;
+        this.taskIdSequence = taskIdSequence;
+        this.writeTracker = writeTracker;
+        this.publisher = publisher;
+    }
+
+    @Transactional
+    public Counts dump(SnapshotWriter writer) throws IOException {
+        long tasks = dumpTable(writer, SnapshotFormat.TASKS, "select id, version, completed, title, description from tasks order by id",
+                new SnapshotWriter.Block(2, 1, 2), (block, rs) -> {
+                    block.setLong(0, rs.getLong(1));
+                    block.setLong(1, rs.getLong(2));
+                    block.setBoolean(0, rs.getBoolean(3));
+                    block.setString(0, rs.getString(4));
+                    block.setString(1, rs.getString(5));
+                });
+        long users = dumpTable(writer, SnapshotFormat.USERS, "select id, version, username, password, email from users order by id",
+                new SnapshotWriter.Block(2, 0, 3), (block, rs) -> {
+                    block.setLong(0, rs.getLong(1));
+                    block.setLong(1, rs.getLong(2));
+                    block.setString(0, rs.getString(3));
+                    block.setString(1, rs.getString(4));
+                    block.setString(2, rs.getString(5));
+                });
+        return new Counts(tasks, users);
+    }
+
+    /**
+     * Replaces every task and user with the snapshot's rows and moves the id generators past the restored ids.
+     * The replacement is published without rows, so caches, the search index, the stats and the journal reload from
+     * the table once this commits; user lookups are left for the caller to reload.
+     */
+    @Transactional
+    public Counts replaceAll(SnapshotReader reader) throws IOException {
+        writeTracker.enlist();
+        jdbc.update("delete from tasks");
+        jdbc.update("delete from users");
+        taskSyncRepository.reset();
+
+        long tasks = 0;
+        reader.beginSection(SnapshotFormat.TASKS);
+        for (SnapshotReader.Block block = reader.nextBlock(); block != null; block = reader.nextBlock()) {
+            long[] ids = block.longs();
+            long[] versions = block.longs();
+            boolean[] completed = block.booleans();
+            String[] titles = block.strings();
+            String[] descriptions = block.strings();
+            insert(INSERT_TASK, block.rows(), (ps, row) -> {
+                ps.setLong(1, ids[row]);
+                ps.setString(2, titles[row]);
+                ps.setString(3, descriptions[row]);
+                ps.setBoolean(4, completed[row]);
+                ps.setLong(5, versions[row]);
+            });
+            tasks += block.rows();
+        }
+
+        long users = 0;
+        reader.beginSection(SnapshotFormat.USERS);
+        for (SnapshotReader.Block block = reader.nextBlock(); block != null; block = reader.nextBlock()) {
+            long[] ids = block.longs();
+            long[] versions = block.longs();
+            String[] usernames = block.strings();
+            String[] passwords = block.strings();
+            String[] emails = block.strings();
+            insert(INSERT_USER, block.rows(), (ps, row) -> {
+                ps.setLong(1, ids[row]);
+                ps.setString(2, usernames[row]);
+                ps.setString(3, passwords[row]);
+                ps.setString(4, emails[row]);
+                ps.setLong(5, versions[row]);
+            });
+            users += block.rows();
+        }
+
+        publisher.publishEvent(new TasksReplacedEvent());
+        publisher.publishEvent(new AllUsersDeletedEvent());
+
+        taskIdSequence.moveAfterExistingIds();
+        Long nextUserId = jdbc.queryForObject("select coalesce(max(id), 0) + 1 from users", Long.class);
+        jdbc.execute("alter table users alter column id restart with " + nextUserId);
+        return new Counts(tasks, users);
+    }
+
+    private long dumpTable(SnapshotWriter writer, byte table, String query, SnapshotWriter.Block block, RowWriter rowWriter)
+            throws IOException {
+        writer.beginSection(table);
+        long[] rows = {0};
+        try {
+            jdbc.query(query, rs -> {
+                rowWriter.write(block, rs);
+                ++rows[0];
+                if (block.endRow()) {
+                    writeBlock(writer, block);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.writeBlock(block);
+        writer.endSection();
+        return rows[0];
+    }
+
+    private void insert(String sql, int rows, RowBinder binder) {
+        jdbc.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int row) throws SQLException {
+                binder.bind(ps, row);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows;
+            }
+        });
+    }
+
+    private static void writeBlock(SnapshotWriter writer, SnapshotWriter.Block block) {
+        try {
+            writer.writeBlock(block);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(SnapshotWriter.Block block, ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int row) throws SQLException;
+    }
+}
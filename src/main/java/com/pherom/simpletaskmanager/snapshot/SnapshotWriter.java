@@ -0,0 +1,140 @@
+package com.pherom.simpletaskmanager.snapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a snapshot in the layout described by {@link SnapshotFormat}. Callers open a section, add rows field by
+ * field through {@link Block}, and end the section; blocks are flushed to the channel as they fill up.
+ */
+class SnapshotWriter implements Closeable {
+
+    private final FileChannel channel;
+
+    SnapshotWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        write(ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES).putInt(SnapshotFormat.MAGIC).putInt(SnapshotFormat.VERSION).flip());
+    }
+
+    void beginSection(byte table) throws IOException {
+        write(ByteBuffer.allocate(1).put(table).flip());
+    }
+
+    void endSection() throws IOException {
+        write(ByteBuffer.allocate(SnapshotFormat.BLOCK_HEADER_BYTES).putInt(0).putInt(0).flip());
+    }
+
+    void writeBlock(Block block) throws IOException {
+        if (block.rows == 0) {
+            return;
+        }
+
+        byte[][] strings = new byte[block.strings.length][];
+        int bodyBytes = 0;
+        for (int column = 0; column < block.strings.length; ++column) {
+            strings[column] = block.encodedStrings(column);
+        }
+        bodyBytes += block.longs.length * (4 + block.rows * Long.BYTES);
+        bodyBytes += block.booleans.length * (4 + block.rows);
+        for (byte[] column : strings) {
+            bodyBytes += 4 + block.rows * Integer.BYTES + 4 + column.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(SnapshotFormat.BLOCK_HEADER_BYTES + bodyBytes);
+        buffer.putInt(block.rows).putInt(bodyBytes);
+        for (long[] column : block.longs) {
+            buffer.putInt(block.rows * Long.BYTES);
+            buffer.asLongBuffer().put(column, 0, block.rows);
+            buffer.position(buffer.position() + block.rows * Long.BYTES);
+        }
+        for (byte[] column : block.booleans) {
+            buffer.putInt(block.rows).put(column, 0, block.rows);
+        }
+        for (int column = 0; column < strings.length; ++column) {
+            buffer.putInt(block.rows * Integer.BYTES);
+            for (int row = 0; row < block.rows; ++row) {
+                String value = block.strings[column][row];
+                buffer.putInt((value == null) ? -1 : block.lengths[column][row]);
+            }
+            buffer.putInt(strings[column].length).put(strings[column]);
+        }
+        write(buffer.flip());
+        block.rows = 0;
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Column buffers for one block, in the order longs, booleans, strings.
+     */
+    static final class Block {
+
+        private final long[][] longs;
+        private final byte[][] booleans;
+        private final String[][] strings;
+        private final int[][] lengths;
+        private int rows;
+
+        Block(int longColumns, int booleanColumns, int stringColumns) {
+            this.longs = new long[longColumns][SnapshotFormat.BLOCK_ROWS];
+            this.booleans = new byte[booleanColumns][SnapshotFormat.BLOCK_ROWS];
+            this.strings = new String[stringColumns][SnapshotFormat.BLOCK_ROWS];
+            this.lengths = new int[stringColumns][SnapshotFormat.BLOCK_ROWS];
+        }
+
+        void setLong(int column, long value) {
+            longs[column][rows] = value;
+        }
+
+        void setBoolean(int column, boolean value) {
+            booleans[column][rows] = (byte) (value ? 1 : 0);
+        }
+
+        void setString(int column, String value) {
+            strings[column][rows] = value;
+        }
+
+        boolean endRow() {
+            return ++rows == SnapshotFormat.BLOCK_ROWS;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        private byte[] encodedStrings(int column) {
+            byte[][] encoded = new byte[rows][];
+            int total = 0;
+            for (int row = 0; row < rows; ++row) {
+                String value = strings[column][row];
+                encoded[row] = (value == null) ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+                lengths[column][row] = encoded[row].length;
+                total += encoded[row].length;
+            }
+
+            byte[] bytes = new byte[total];
+            int offset = 0;
+            for (byte[] value : encoded) {
+                System.arraycopy(value, 0, bytes, offset, value.length);
+                offset += value.length;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pherom.simpletaskmanager.snapshot.controller;
+
+import com.pherom.simpletaskmanager.snapshot.SnapshotService;
+import com.pherom.simpletaskmanager.snapshot.dto.SnapshotSummaryDTO;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/admin/snapshots")
+public class SnapshotController {
+
+    private static final String NAME_PATTERN = "[A-Za-z0-9][A-Za-z0-9._-]{0,99}";
+
+    private final SnapshotService service;
+
+    public SnapshotController(SnapshotService service) {
+        this.service = service;
+    }
+
+    @PostMapping("/{name}")
+    @ResponseStatus(HttpStatus.CREATED)
+    public SnapshotSummaryDTO writeSnapshot(@PathVariable @Pattern(regexp = NAME_PATTERN) String name) {
+        return service.write(name);
+    }
+
+    @PostMapping("/{name}/restore")
+    public SnapshotSummaryDTO restoreSnapshot(@PathVariable @Pattern(regexp = NAME_PATTERN) String name) {
+        return service.restore(name);
+    }
+}
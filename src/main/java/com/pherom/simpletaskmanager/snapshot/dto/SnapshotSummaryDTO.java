@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.snapshot.dto;
+
+public record SnapshotSummaryDTO(String name, long tasks, long users, long bytes, long millis) {
+}
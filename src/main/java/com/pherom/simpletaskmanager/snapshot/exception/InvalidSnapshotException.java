@@ -0,0 +1,7 @@
+package com.pherom.simpletaskmanager.snapshot.exception;
+
+public class InvalidSnapshotException extends RuntimeException {
+    public InvalidSnapshotException(String name, String reason) {
+        super("Snapshot " + name + " is not valid: " + reason);
+    }
+}
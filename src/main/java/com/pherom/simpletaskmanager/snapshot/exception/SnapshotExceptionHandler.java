@@ -0,0 +1,20 @@
+package com.pherom.simpletaskmanager.snapshot.exception;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class SnapshotExceptionHandler {
+
+    @ExceptionHandler(SnapshotNotFoundException.class)
+    public ResponseEntity<String> handleNotFound(SnapshotNotFoundException ex) {
+        return ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(InvalidSnapshotException.class)
+    public ResponseEntity<String> handleInvalid(InvalidSnapshotException ex) {
+        return ResponseEntity.unprocessableEntity().body(ex.getMessage());
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.pherom.simpletaskmanager.snapshot.exception;
+
+public class SnapshotNotFoundException extends RuntimeException {
+    public SnapshotNotFoundException(String name) {
+        super("Could not find a snapshot named: " + name);
+    }
+}
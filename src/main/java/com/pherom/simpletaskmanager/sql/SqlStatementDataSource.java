@@ -0,0 +1,70 @@
+package com.pherom.simpletaskmanager.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Wraps every {@link DataSource} bean so each statement execution and batch execution is reported to
+ * {@link SqlStatementRecorder}, whether it comes from Hibernate, a {@code JdbcTemplate} or Flyway. A JDBC batch
+ * counts as one statement, since it is one round trip. {@code unwrap} still reaches the pool underneath, so pool
+ * metrics and health checks see the original data source.
+ */
+@Component
+public class SqlStatementDataSource implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            return wrap(dataSource, DataSource.class);
+        }
+        return bean;
+    }
+
+    private static <T> T wrap(T target, Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(SqlStatementDataSource.class.getClassLoader(), new Class<?>[]{type}, new Counting(target)));
+    }
+
+    private record Counting(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            boolean execute = target instanceof Statement && method.getName().startsWith("execute");
+            long started = execute ? System.nanoTime() : 0;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (execute) {
+                    SqlStatementRecorder.record(System.nanoTime() - started);
+                }
+            }
+
+            Class<?> type = method.getReturnType();
+            if (result instanceof Connection connection && type == Connection.class) {
+                return wrap(connection, Connection.class);
+            }
+            if (result instanceof CallableStatement statement && type == CallableStatement.class) {
+                return wrap(statement, CallableStatement.class);
+            }
+            if (result instanceof PreparedStatement statement && type == PreparedStatement.class) {
+                return wrap(statement, PreparedStatement.class);
+            }
+            if (result instanceof Statement statement && type == Statement.class) {
+                return wrap(statement, Statement.class);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.pherom.simpletaskmanager.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements each request runs and the time spent executing them. Every request gets a debug log
+ * line and is recorded in the {@code http.server.requests.sql.statements} summary and
+ * {@code http.server.requests.sql.time} timer; requests above {@code sql.statements.warn-threshold} are logged at
+ * warn level and counted in {@code http.server.requests.sql.flagged}, which usually points at an N+1 pattern.
+ * <p>
+ * An asynchronous request is reported once its last dispatch has finished, including the statements its handler
+ * ran on the application task executor in between.
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+    private static final String RECORDING_ATTRIBUTE = SqlStatementFilter.class.getName() + ".recording";
+
+    private final MeterRegistry registry;
+    private final int warnThreshold;
+
+    public SqlStatementFilter(ObjectProvider<MeterRegistry> registry, @Value("${sql.statements.warn-threshold:20}") int warnThreshold) {
+        this.registry = registry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                SqlStatementRecorder.Recording started = (SqlStatementRecorder.Recording) request.getAttribute(RECORDING_ATTRIBUTE);
+                if (started != null) {
+                    started.include(recording);
+                }
+                if (request.isAsyncStarted()) {
+                    request.setAttribute(RECORDING_ATTRIBUTE, (started != null) ? started : recording);
+                } else {
+                    report(request, response, (started != null) ? started : recording);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatementRecorder.Recording recording) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = (pattern != null) ? pattern.toString() : "UNKNOWN";
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("http.server.requests.sql.statements").tags(tags).register(registry).record(recording.statements());
+        Timer.builder("http.server.requests.sql.time").tags(tags).register(registry).record(recording.nanos(), TimeUnit.NANOSECONDS);
+
+        if (recording.statements() > warnThreshold) {
+            Counter.builder("http.server.requests.sql.flagged").tags(tags).register(registry).increment();
+            log.warn("{} {} -> {}: {} SQL statements in {} ms exceeds the threshold of {}", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), recording.statements(), TimeUnit.NANOSECONDS.toMillis(recording.nanos()), warnThreshold);
+        } else {
+            log.debug("{} {} -> {}: {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), recording.statements(), TimeUnit.NANOSECONDS.toMillis(recording.nanos()));
+        }
+    }
+}
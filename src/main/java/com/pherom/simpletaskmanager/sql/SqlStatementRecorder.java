@@ -0,0 +1,102 @@
+package com.pherom.simpletaskmanager.sql;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-bound tally of the JDBC statements executed while a recording is open. Recordings nest: a statement is
+ * counted by every open recording on the thread, and closing a recording restores the one it was opened inside.
+ * Work handed to another thread is counted too when it is submitted through {@link #wrap(Runnable)} or an executor
+ * returned by {@link #propagating(Executor)}, which carry the submitting thread's recordings along.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+
+    }
+
+    public static Recording start() {
+        Recording recording = new Recording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    /**
+     * Returns a task that runs {@code task} with the recordings open on the calling thread, or {@code task} itself
+     * if none is open.
+     */
+    public static Runnable wrap(Runnable task) {
+        Recording recording = CURRENT.get();
+        if (recording == null) {
+            return task;
+        }
+        return () -> {
+            Recording previous = CURRENT.get();
+            CURRENT.set(recording);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    static void record(long nanos) {
+        for (Recording recording = CURRENT.get(); recording != null; recording = recording.parent) {
+            recording.add(1, nanos);
+        }
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final Recording parent;
+        private final AtomicInteger statements = new AtomicInteger();
+        private final AtomicLong nanos = new AtomicLong();
+
+        private Recording(Recording parent) {
+            this.parent = parent;
+        }
+
+        public int statements() {
+            return statements.get();
+        }
+
+        public long nanos() {
+            return nanos.get();
+        }
+
+        /**
+         * Adds what {@code other} has counted, e.g. a later dispatch of the same asynchronous request.
+         */
+        void include(Recording other) {
+            add(other.statements(), other.nanos());
+        }
+
+        private void add(int statementCount, long statementNanos) {
+            statements.addAndGet(statementCount);
+            nanos.addAndGet(statementNanos);
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
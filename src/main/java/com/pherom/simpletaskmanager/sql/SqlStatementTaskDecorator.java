@@ -0,0 +1,17 @@
+package com.pherom.simpletaskmanager.sql;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applied by Spring Boot to the application task executor, which also runs asynchronous MVC handlers such as
+ * streamed responses, so the statements they execute are counted by the recording of the request that started them.
+ */
+@Component
+public class SqlStatementTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return SqlStatementRecorder.wrap(runnable);
+    }
+}
@@ -0,0 +1,105 @@
+package com.pherom.simpletaskmanager.task.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.pherom.simpletaskmanager.cache.CacheLoading;
+import com.pherom.simpletaskmanager.task.dto.TaskCacheStatsDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksPatchedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of task lookups by id. Entries are only changed after the writing transaction commits,
+ * and Caffeine serializes those changes with any in-flight load of the same key, so a load that started before
+ * the commit cannot overwrite the fresher value. After-commit listeners of concurrent updates may still run out of
+ * order, so a saved task only replaces the cached one when its version is higher. Loads are dispatched through
+ * {@link CacheLoading} so they never pin a virtual thread's carrier.
+ */
+@Component
+public class TaskCache {
+
+    private final AsyncCache<Long, TaskResponseDTO> cache;
+
+    public TaskCache(@Value("${task.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${task.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(CacheLoading.executor(virtualThreads))
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<TaskResponseDTO> get(long id, Function<Long, Optional<TaskResponseDTO>> loader) {
+        return Optional.ofNullable(CacheLoading.join(cache.get(id, key -> loader.apply(key).orElse(null))));
+    }
+
+    public TaskCacheStatsDTO stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new TaskCacheStatsDTO(stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate(),
+                cache.synchronous().estimatedSize());
+    }
+
+    /**
+     * Caches {@code task} unless a higher version of it is already cached.
+     */
+    public void merge(TaskResponseDTO task) {
+        cache.synchronous().asMap().merge(task.id(), task, (cached, saved) -> (saved.version() > cached.version()) ? saved : cached);
+    }
+
+    public void invalidate(long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    @TransactionalEventListener
+    public void onTaskSaved(TaskSavedEvent event) {
+        merge(event.current());
+    }
+
+    @TransactionalEventListener
+    public void onTasksPatched(TasksPatchedEvent event) {
+        if (event.request().ids() != null) {
+            cache.synchronous().invalidateAll(event.request().ids());
+            return;
+        }
+
+        TaskFilterDTO filter = event.request().filter();
+        cache.asMap().values().removeIf(CacheLoading.loadedMatching(
+                task -> filter.completed() == null || filter.completed() == task.completed()));
+    }
+
+    @TransactionalEventListener
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        cache.synchronous().invalidate(event.id());
+    }
+
+    @TransactionalEventListener
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        cache.synchronous().invalidateAll(event.ids());
+    }
+
+    @TransactionalEventListener
+    public void onAllTasksDeleted(AllTasksDeletedEvent event) {
+        cache.synchronous().invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onTasksReplaced(TasksReplacedEvent event) {
+        cache.synchronous().invalidateAll();
+    }
+
+}
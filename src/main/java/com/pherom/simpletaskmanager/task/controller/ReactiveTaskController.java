@@ -0,0 +1,82 @@
+package com.pherom.simpletaskmanager.task.controller;
+
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.service.ReactiveTaskService;
+import com.pherom.simpletaskmanager.versioning.ETags;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks")
+@Profile("reactive")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService service;
+
+    public ReactiveTaskController(ReactiveTaskService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<TaskResponseDTO>>> getAllTasks(TaskFilterDTO filter, @RequestParam(required = false) String after, @RequestParam(defaultValue = "50") int limit) {
+        return service.findPage(filter, after, limit).map(CursorPage::toResponseEntity);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskResponseDTO> exportTasks() {
+        return service.streamAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponseDTO>> getTaskById(@PathVariable long id, ServerWebExchange exchange) {
+        return service.findVersionById(id)
+                .flatMap(version -> exchange.checkNotModified(ETags.of(version))
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).<TaskResponseDTO>build())
+                        : service.findById(id).map(task -> ResponseEntity.ok().eTag(ETags.of(task.version())).body(task)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TaskResponseDTO>> createTask(@Valid @RequestBody TaskRequestDTO task, ServerHttpRequest request) {
+        return service.save(null, task, null)
+                .map(result -> ResponseEntity.created(UriComponentsBuilder.fromUri(request.getURI())
+                                .path("/{id}")
+                                .buildAndExpand(result.id())
+                                .toUri())
+                        .body(result));
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TaskResponseDTO>> saveTask(@PathVariable long id, @Valid @RequestBody TaskRequestDTO task,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.save(id, task, ETags.expectedVersion(ifMatch))
+                .map(result -> ResponseEntity.ok().eTag(ETags.of(result.version())).body(result));
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> removeTask(@PathVariable long id) {
+        return service.deleteById(id);
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> removeAll() {
+        return service.deleteAll();
+    }
+}
@@ -1,41 +1,140 @@
 package com.pherom.simpletaskmanager.task.controller;
 
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkResponseDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskCacheStatsDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskDeltaDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskIngestTicketDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskStatsDTO;
+import com.pherom.simpletaskmanager.task.feed.TaskChangeFeed;
+import com.pherom.simpletaskmanager.task.ingest.TaskIngestQueue;
+import com.pherom.simpletaskmanager.task.service.TaskExportService;
 import com.pherom.simpletaskmanager.task.service.TaskService;
+import com.pherom.simpletaskmanager.versioning.ETags;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/tasks")
 public class TaskController {
 
     private final TaskService service;
+    private final TaskExportService exportService;
+    private final TaskIngestQueue ingestQueue;
+    private final TaskChangeFeed changeFeed;
+    private final Duration exportTimeout;
 
-    public TaskController(TaskService service) {
+    public TaskController(TaskService service, TaskExportService exportService, TaskIngestQueue ingestQueue, TaskChangeFeed changeFeed,
+                          @Value("${task.export.timeout:30m}") Duration exportTimeout) {
         this.service = service;
+        this.exportService = exportService;
+        this.ingestQueue = ingestQueue;
+        this.changeFeed = changeFeed;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
-    public List<TaskResponseDTO> getAllTasks() {
-        return service.findAll();
+    public ResponseEntity<List<TaskResponseDTO>> getAllTasks(TaskFilterDTO filter, @RequestParam(required = false) String after, @RequestParam(defaultValue = "50") int limit) {
+        return service.findPage(filter, after, limit).toResponseEntity();
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(WebRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(exportService::exportAll);
+    }
+
+    @GetMapping("/delta")
+    public TaskDeltaDTO getDelta(@RequestParam(required = false) String since, @RequestParam(defaultValue = "500") int limit) {
+        return service.findChangesSince(since, limit);
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+    @GetMapping("/stats")
+    public TaskStatsDTO getStats() {
+        return service.stats();
+    }
+
+    @GetMapping("/cache/stats")
+    public TaskCacheStatsDTO getCacheStats() {
+        return service.cacheStats();
+    }
+
+    @GetMapping(value = "/search", params = "titlePrefix")
+    public List<TaskResponseDTO> searchByTitlePrefix(@RequestParam @Size(min = 1, max = 50) String titlePrefix, @RequestParam(defaultValue = "20") int limit) {
+        return service.findByTitlePrefix(titlePrefix, limit);
+    }
+
+    @GetMapping(value = "/search", params = "q")
+    public List<TaskResponseDTO> search(@RequestParam @NotBlank @Size(max = 200) String q, @RequestParam(defaultValue = "20") int limit) {
+        return service.search(q, limit);
+    }
+
+    @GetMapping("/ingest/{ticket}")
+    public ResponseEntity<TaskIngestTicketDTO> getIngestStatus(@PathVariable String ticket) {
+        return ResponseEntity.of(ingestQueue.status(ticket));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> getTaskById(@PathVariable long id) {
+    public ResponseEntity<TaskResponseDTO> getTaskById(@PathVariable long id, WebRequest request) {
+        Optional<Long> version = service.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(ETags.of(version.get()))) {
+            return null;
+        }
+
+        long current = version.get();
         return service.findById(id)
-                .map(ResponseEntity::ok)
+                .filter(task -> task.version() == current)
+                .or(() -> service.reloadById(id))
+                .map(task -> ResponseEntity.ok().eTag(ETags.of(task.version())).body(task))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PostMapping
-    public ResponseEntity<TaskResponseDTO> createTask(@Valid @RequestBody TaskRequestDTO task) {
+    public ResponseEntity<?> createTask(@Valid @RequestBody TaskRequestDTO task) {
+        if (ingestQueue.isEnabled()) {
+            TaskIngestTicketDTO ticket = ingestQueue.submit(task);
+            URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .path("/ingest/{ticket}")
+                    .buildAndExpand(ticket.ticket())
+                    .toUri();
+
+            return ResponseEntity.accepted().location(uri).body(ticket);
+        }
+
         TaskResponseDTO result = service.save(null, task);
 
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -46,9 +145,22 @@ public class TaskController {
         return ResponseEntity.created(uri).body(result);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<TaskResponseDTO> createTasks(@RequestBody @NotEmpty @Size(max = 10000) List<@Valid TaskRequestDTO> tasks) {
+        return service.saveAll(tasks);
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<TaskResponseDTO> saveTask(@PathVariable long id, @Valid @RequestBody TaskRequestDTO task) {
-        return ResponseEntity.ok(service.save(id, task));
+    public ResponseEntity<TaskResponseDTO> saveTask(@PathVariable long id, @Valid @RequestBody TaskRequestDTO task,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskResponseDTO result = service.save(id, task, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(result.version())).body(result);
+    }
+
+    @PatchMapping
+    public TaskBulkResponseDTO patchTasks(@Valid @RequestBody TaskBulkPatchRequestDTO request) {
+        return new TaskBulkResponseDTO(service.patchAll(request));
     }
 
     @DeleteMapping("/{id}")
@@ -57,6 +169,11 @@ public class TaskController {
         service.deleteById(id);
     }
 
+    @DeleteMapping(params = "ids")
+    public TaskBulkResponseDTO removeTasks(@RequestParam @Size(max = 10000) List<Long> ids) {
+        return new TaskBulkResponseDTO(service.deleteAllById(ids));
+    }
+
     @DeleteMapping
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeAll() {
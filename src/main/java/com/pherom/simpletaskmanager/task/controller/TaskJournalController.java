@@ -0,0 +1,25 @@
+package com.pherom.simpletaskmanager.task.controller;
+
+import com.pherom.simpletaskmanager.task.dto.TaskJournalReplayDTO;
+import com.pherom.simpletaskmanager.task.journal.TaskJournalReplayer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/admin/journal")
+public class TaskJournalController {
+
+    private final TaskJournalReplayer replayer;
+
+    public TaskJournalController(TaskJournalReplayer replayer) {
+        this.replayer = replayer;
+    }
+
+    @PostMapping("/replay")
+    public TaskJournalReplayDTO replay() {
+        return replayer.replay();
+    }
+}
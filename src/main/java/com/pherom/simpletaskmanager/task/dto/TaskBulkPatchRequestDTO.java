@@ -0,0 +1,22 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TaskBulkPatchRequestDTO(
+        @Size(max = 10000) List<Long> ids,
+        TaskFilterDTO filter,
+        @NotNull @Valid TaskPatchDTO set
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "exactly one of ids or filter must be provided")
+    public boolean isTargetValid() {
+        return (ids == null) != (filter == null);
+    }
+}
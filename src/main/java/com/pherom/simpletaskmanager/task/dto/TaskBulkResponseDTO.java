@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+public record TaskBulkResponseDTO(int affected) {
+}
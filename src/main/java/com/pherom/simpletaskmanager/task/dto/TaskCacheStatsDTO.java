@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+public record TaskCacheStatsDTO(long hitCount, long missCount, long evictionCount, double hitRate, long size) {
+}
@@ -0,0 +1,8 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pherom.simpletaskmanager.task.feed.TaskChangeType;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskChangeDTO(TaskChangeType type, Long id, TaskResponseDTO task, TaskBulkPatchRequestDTO patch) {
+}
@@ -0,0 +1,11 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+import java.util.List;
+
+/**
+ * Changes since a sync token. When {@code reset} is set the client must drop its local tasks before applying
+ * {@code changed}, either because it had no token or because every task was wiped or replaced since. Pages are
+ * followed by passing {@code token} back until {@code hasMore} is false.
+ */
+public record TaskDeltaDTO(List<TaskResponseDTO> changed, List<Long> deleted, boolean reset, boolean hasMore, String token) {
+}
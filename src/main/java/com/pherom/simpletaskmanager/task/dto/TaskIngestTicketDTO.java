@@ -0,0 +1,6 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+import com.pherom.simpletaskmanager.task.ingest.TaskIngestStatus;
+
+public record TaskIngestTicketDTO(String ticket, TaskIngestStatus status, Long taskId) {
+}
@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+public record TaskJournalReplayDTO(int segments, long records, int tasks, long millis) {
+}
@@ -0,0 +1,18 @@
+package com.pherom.simpletaskmanager.task.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+public record TaskPatchDTO(
+        @Size(min = 1, max = 50) String title,
+        @Size(max = 255) String description,
+        Boolean completed
+) {
+
+    @JsonIgnore
+    @AssertTrue(message = "at least one field must be set")
+    public boolean isNotEmpty() {
+        return title != null || description != null || completed != null;
+    }
+}
@@ -1,4 +1,10 @@
 package com.pherom.simpletaskmanager.task.dto;
 
-public record TaskResponseDTO(long id, String title, String description, boolean completed) {
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public record TaskResponseDTO(long id, String title, String description, boolean completed, @JsonIgnore long version) {
+
+    public TaskResponseDTO(long id, String title, String description, boolean completed) {
+        this(id, title, description, completed, 0);
+    }
 }
@@ -5,16 +5,27 @@ import jakarta.persistence.*;
 import java.util.Objects;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_title", columnList = "title, id"),
+        @Index(name = "idx_tasks_completed", columnList = "completed, id"),
+        @Index(name = "idx_tasks_mod_seq", columnList = "mod_seq")
+})
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 100)
     private long id;
     private String title;
     private String description;
     private boolean completed;
 
+    @Version
+    private long version;
+
+    @Column(name = "mod_seq", insertable = false, updatable = false)
+    private long modSeq;
+
     protected Task() {
 
     }
@@ -48,6 +59,14 @@ public class Task {
         return completed;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public long getModSeq() {
+        return modSeq;
+    }
+
     public void setTitle(String title) {
         this.title = title;
     }
@@ -0,0 +1,65 @@
+package com.pherom.simpletaskmanager.task.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code tasks} table used by the reactive API. A null version marks a row that has not
+ * been inserted yet, since ids are drawn from {@code tasks_seq} before saving.
+ */
+@Table("tasks")
+public class TaskRow {
+
+    @Id
+    private long id;
+    private String title;
+    private String description;
+    private boolean completed;
+
+    @Version
+    private Long version;
+
+    protected TaskRow() {
+
+    }
+
+    public TaskRow(long id, String title, String description, boolean completed) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.completed = completed;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+}
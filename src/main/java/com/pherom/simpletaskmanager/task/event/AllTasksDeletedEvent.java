@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.task.event;
+
+public record AllTasksDeletedEvent() implements TaskChangeEvent {
+}
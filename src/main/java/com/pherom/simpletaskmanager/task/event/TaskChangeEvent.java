@@ -0,0 +1,6 @@
+package com.pherom.simpletaskmanager.task.event;
+
+public sealed interface TaskChangeEvent
+        permits TaskSavedEvent, TasksCreatedEvent, TasksPatchedEvent, TaskDeletedEvent, TasksDeletedEvent, AllTasksDeletedEvent,
+        TasksReplacedEvent {
+}
@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.task.event;
+
+public record TaskDeletedEvent(long id, boolean completed) implements TaskChangeEvent {
+}
@@ -0,0 +1,10 @@
+package com.pherom.simpletaskmanager.task.event;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+
+public record TaskSavedEvent(TaskResponseDTO previous, TaskResponseDTO current) implements TaskChangeEvent {
+
+    public boolean created() {
+        return previous == null;
+    }
+}
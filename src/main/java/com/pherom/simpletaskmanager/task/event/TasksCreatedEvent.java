@@ -0,0 +1,8 @@
+package com.pherom.simpletaskmanager.task.event;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+
+import java.util.List;
+
+public record TasksCreatedEvent(List<TaskResponseDTO> tasks) implements TaskChangeEvent {
+}
@@ -0,0 +1,6 @@
+package com.pherom.simpletaskmanager.task.event;
+
+import java.util.Collection;
+
+public record TasksDeletedEvent(Collection<Long> ids, int affected, int completed) implements TaskChangeEvent {
+}
@@ -0,0 +1,6 @@
+package com.pherom.simpletaskmanager.task.event;
+
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+
+public record TasksPatchedEvent(TaskBulkPatchRequestDTO request, int affected, long completedDelta) implements TaskChangeEvent {
+}
@@ -0,0 +1,8 @@
+package com.pherom.simpletaskmanager.task.event;
+
+/**
+ * Every task was replaced in bulk, by a snapshot restore or a journal replay. It carries no rows; listeners that keep
+ * derived state reload it from the table.
+ */
+public record TasksReplacedEvent() implements TaskChangeEvent {
+}
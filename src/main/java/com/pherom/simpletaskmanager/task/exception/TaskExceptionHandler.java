@@ -1,5 +1,7 @@
 package com.pherom.simpletaskmanager.task.exception;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,4 +15,23 @@ public class TaskExceptionHandler {
         return ResponseEntity.notFound().build();
     }
 
+    @ExceptionHandler(TaskJournalNotFoundException.class)
+    public ResponseEntity<String> handleJournalNotFound(TaskJournalNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskIngestQueueFullException.class)
+    public ResponseEntity<String> handleIngestQueueFull(TaskIngestQueueFullException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskIngestUnavailableException.class)
+    public ResponseEntity<String> handleIngestUnavailable(TaskIngestUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.pherom.simpletaskmanager.task.exception;
+
+public class TaskIngestQueueFullException extends RuntimeException {
+    public TaskIngestQueueFullException(int capacity) {
+        super("The task ingest queue is full (capacity " + capacity + ")");
+    }
+}
@@ -0,0 +1,7 @@
+package com.pherom.simpletaskmanager.task.exception;
+
+public class TaskIngestUnavailableException extends RuntimeException {
+    public TaskIngestUnavailableException() {
+        super("The task ingest queue is not accepting tasks");
+    }
+}
@@ -0,0 +1,9 @@
+package com.pherom.simpletaskmanager.task.exception;
+
+import java.nio.file.Path;
+
+public class TaskJournalNotFoundException extends RuntimeException {
+    public TaskJournalNotFoundException(Path directory) {
+        super("Could not find task journal segments in: " + directory);
+    }
+}
@@ -0,0 +1,304 @@
+package com.pherom.simpletaskmanager.task.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskChangeDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskChangeEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksCreatedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksPatchedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Server-Sent Events feed of committed task changes. Every change gets the next sequence number, is serialized
+ * once and kept in a ring buffer of {@code task.feed.buffer-size} entries. A single dispatcher thread hands each
+ * subscriber the entries between the last sequence it was sent and the head of the buffer as one write on a virtual
+ * thread. A subscriber whose previous write is still running is skipped and caught up once it finishes, so a slow
+ * client never holds up the others; one whose write has not finished within {@code task.feed.send-timeout} is
+ * dropped.
+ * <p>
+ * Event ids are {@code <epoch>-<sequence>}, where the epoch identifies this run of the application. A subscriber
+ * resuming from a {@code Last-Event-ID} that has left the buffer, or that belongs to another run, gets a
+ * {@link TaskChangeType#RESET} event and continues from the head.
+ */
+@Component
+@Profile("!reactive")
+public class TaskChangeFeed implements SmartLifecycle {
+
+    /** Sequence a subscriber resumes from when its {@code Last-Event-ID} is not from this run; always resets. */
+    private static final long UNKNOWN = -1;
+
+    private record Entry(long sequence, String name, String json) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long sendingSince;
+        private long lastSent;
+        private boolean opened;
+
+        Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+
+        /**
+         * Starts a write unless the previous one is still running. {@link #sending} hands {@link #lastSent} and
+         * {@link #opened} over between the sender threads.
+         */
+        void dispatch(boolean heartbeat) {
+            if (!sending.compareAndSet(false, true)) {
+                if (System.nanoTime() - sendingSince > sendTimeoutNanos && subscribers.remove(this)) {
+                    senders.execute(() -> emitter.completeWithError(new IOException("Task change feed subscriber is not reading")));
+                }
+                return;
+            }
+
+            sendingSince = System.nanoTime();
+            senders.execute(() -> {
+                try {
+                    catchUp(heartbeat);
+                } finally {
+                    sending.set(false);
+                }
+                if (behind()) {
+                    wake();
+                }
+            });
+        }
+
+        private boolean behind() {
+            synchronized (TaskChangeFeed.this) {
+                return subscribers.contains(this) && lastSent != lastSequence;
+            }
+        }
+
+        private void catchUp(boolean heartbeat) {
+            List<Entry> entries = since(lastSent);
+            if (entries.isEmpty() && !heartbeat && opened) {
+                return;
+            }
+
+            Set<ResponseBodyEmitter.DataWithMediaType> frames = new LinkedHashSet<>();
+            for (Entry entry : entries) {
+                frames.addAll(SseEmitter.event().id(epoch + "-" + entry.sequence()).name(entry.name()).data(entry.json()).build());
+            }
+            if (frames.isEmpty()) {
+                frames.addAll(SseEmitter.event().comment("heartbeat").build());
+            }
+
+            try {
+                emitter.send(frames);
+                opened = true;
+                if (!entries.isEmpty()) {
+                    lastSent = entries.getLast().sequence();
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+            }
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Entry[] ring;
+    private final long heartbeatNanos;
+    private final long sendTimeoutNanos;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final String resetJson;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private long lastSequence;
+    private boolean pending;
+    private volatile boolean running;
+    private Thread dispatcher;
+    private ExecutorService senders;
+
+    public TaskChangeFeed(ObjectMapper objectMapper,
+                          @Value("${task.feed.buffer-size:4096}") int bufferSize,
+                          @Value("${task.feed.heartbeat-interval:15s}") Duration heartbeatInterval,
+                          @Value("${task.feed.send-timeout:30s}") Duration sendTimeout) {
+        this.objectMapper = objectMapper;
+        this.ring = new Entry[bufferSize];
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.resetJson = toJson(new TaskChangeDTO(TaskChangeType.RESET, null, null, null));
+    }
+
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber;
+        synchronized (this) {
+            subscriber = new Subscriber(emitter, parseSequence(lastEventId));
+            subscribers.add(subscriber);
+            wake();
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        switch (event) {
+            case TaskSavedEvent saved ->
+                    append(saved.created() ? TaskChangeType.CREATED : TaskChangeType.UPDATED, saved.current().id(), saved.current(), null);
+            case TasksCreatedEvent created -> {
+                if (created.tasks().size() >= ring.length) {
+                    append(TaskChangeType.RESET, null, null, null);
+                } else {
+                    created.tasks().forEach(task -> append(TaskChangeType.CREATED, task.id(), task, null));
+                }
+            }
+            case TasksPatchedEvent patched -> append(TaskChangeType.PATCHED, null, null, patched.request());
+            case TaskDeletedEvent deleted -> append(TaskChangeType.DELETED, deleted.id(), null, null);
+            case TasksDeletedEvent deleted -> deleted.ids().forEach(id -> append(TaskChangeType.DELETED, id, null, null));
+            case AllTasksDeletedEvent ignored -> append(TaskChangeType.CLEARED, null, null, null);
+            case TasksReplacedEvent ignored -> append(TaskChangeType.RESET, null, null, null);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-change-feed-send-", 0).factory());
+        dispatcher = Thread.ofPlatform().name("task-change-feed").daemon().start(this::dispatch);
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (dispatcher != null) {
+            try {
+                dispatcher.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            dispatcher = null;
+        }
+        subscribers.forEach(subscriber -> senders.execute(subscriber.emitter::complete));
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void append(TaskChangeType type, Long id, TaskResponseDTO task, TaskBulkPatchRequestDTO patch) {
+        String json = (type == TaskChangeType.RESET) ? resetJson : toJson(new TaskChangeDTO(type, id, task, patch));
+        String name = type.name().toLowerCase(Locale.ROOT);
+        synchronized (this) {
+            long sequence = ++lastSequence;
+            ring[(int) (sequence % ring.length)] = new Entry(sequence, name, json);
+            wake();
+        }
+    }
+
+    private synchronized void wake() {
+        pending = true;
+        notifyAll();
+    }
+
+    private synchronized List<Entry> since(long after) {
+        long oldest = Math.max(1, lastSequence - ring.length + 1);
+        if (after > lastSequence || after < oldest - 1) {
+            return List.of(new Entry(lastSequence, "reset", resetJson));
+        }
+
+        List<Entry> entries = new ArrayList<>((int) (lastSequence - after));
+        for (long sequence = after + 1; sequence <= lastSequence; ++sequence) {
+            entries.add(ring[(int) (sequence % ring.length)]);
+        }
+        return entries;
+    }
+
+    private long parseSequence(String lastEventId) {
+        if (lastEventId == null) {
+            return lastSequence;
+        }
+
+        String id = lastEventId.trim();
+        int separator = id.lastIndexOf('-');
+        if (separator == epoch.length() && id.startsWith(epoch)) {
+            try {
+                return Long.parseLong(id.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                // fall through and reset like an id from another run
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private void dispatch() {
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        try {
+            while (running) {
+                synchronized (this) {
+                    long now;
+                    while (running && !pending && (now = System.nanoTime()) < nextHeartbeat) {
+                        TimeUnit.NANOSECONDS.timedWait(this, nextHeartbeat - now);
+                    }
+                    pending = false;
+                }
+
+                boolean heartbeat = System.nanoTime() >= nextHeartbeat;
+                for (Subscriber subscriber : subscribers) {
+                    subscriber.dispatch(heartbeat);
+                }
+                if (heartbeat) {
+                    nextHeartbeat = System.nanoTime() + heartbeatNanos;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String toJson(TaskChangeDTO change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize a task change", e);
+        }
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.pherom.simpletaskmanager.task.feed;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    PATCHED,
+    DELETED,
+    CLEARED,
+    /** The client missed changes that are no longer buffered and should reload the task list. */
+    RESET
+}
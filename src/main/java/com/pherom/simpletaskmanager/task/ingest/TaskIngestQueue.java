@@ -0,0 +1,211 @@
+package com.pherom.simpletaskmanager.task.ingest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pherom.simpletaskmanager.task.dto.TaskIngestTicketDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.exception.TaskIngestQueueFullException;
+import com.pherom.simpletaskmanager.task.exception.TaskIngestUnavailableException;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind queue for task creation. Requests are accepted into a bounded queue and a single writer thread
+ * drains them in group commits of up to {@code batchSize} tasks, waiting at most {@code maxDelay} for a batch to
+ * fill. A full queue rejects new work instead of blocking the caller.
+ * <p>
+ * The queue stops in a phase after the web server, so requests accepted during graceful shutdown are still
+ * written; once stopped it rejects submissions rather than handing out tickets nothing will resolve. A batch that
+ * fails is retried one task at a time, so a single invalid task only fails its own ticket.
+ */
+@Component
+public class TaskIngestQueue implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskIngestQueue.class);
+
+    /**
+     * Below the web server's start/stop phase, so the queue starts before requests arrive and stops only after the
+     * server has drained them.
+     */
+    public static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+
+    private record Submission(String ticket, TaskRequestDTO task) {
+    }
+
+    private final TaskService service;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<Submission> queue;
+    private final Cache<String, TaskIngestTicketDTO> tickets;
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public TaskIngestQueue(TaskService service,
+                           @Value("${task.ingest.enabled:false}") boolean enabled,
+                           @Value("${task.ingest.queue-capacity:10000}") int capacity,
+                           @Value("${task.ingest.batch-size:500}") int batchSize,
+                           @Value("${task.ingest.max-delay:20ms}") Duration maxDelay,
+                           @Value("${task.ingest.ticket-ttl:10m}") Duration ticketTtl) {
+        this.service = service;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.tickets = Caffeine.newBuilder().expireAfterWrite(ticketTtl).build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public TaskIngestTicketDTO submit(TaskRequestDTO task) {
+        TaskIngestTicketDTO ticket = new TaskIngestTicketDTO(UUID.randomUUID().toString(), TaskIngestStatus.QUEUED, null);
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new TaskIngestUnavailableException();
+            }
+            tickets.put(ticket.ticket(), ticket);
+            if (!queue.offer(new Submission(ticket.ticket(), task))) {
+                tickets.invalidate(ticket.ticket());
+                throw new TaskIngestQueueFullException(capacity);
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return ticket;
+    }
+
+    public Optional<TaskIngestTicketDTO> status(String ticket) {
+        return Optional.ofNullable(tickets.getIfPresent(ticket));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("task-ingest-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        stateLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.NANOSECONDS.toMillis(maxDelayNanos) + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drain() {
+        List<Submission> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Submission first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Submission next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                commit(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(List<Submission> batch) {
+        try {
+            List<TaskResponseDTO> created = service.saveAll(batch.stream().map(Submission::task).toList());
+            for (int i = 0; i < batch.size(); ++i) {
+                String ticket = batch.get(i).ticket();
+                tickets.put(ticket, new TaskIngestTicketDTO(ticket, TaskIngestStatus.CREATED, created.get(i).id()));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            log.warn("Failed to commit a batch of {} queued tasks, retrying them one at a time", batch.size(), e);
+            for (Submission submission : batch) {
+                commitOne(submission);
+            }
+        }
+    }
+
+    private void commitOne(Submission submission) {
+        try {
+            TaskResponseDTO created = service.save(null, submission.task());
+            tickets.put(submission.ticket(), new TaskIngestTicketDTO(submission.ticket(), TaskIngestStatus.CREATED, created.id()));
+        } catch (RuntimeException e) {
+            fail(submission, e);
+        }
+    }
+
+    private void fail(Submission submission, RuntimeException e) {
+        log.warn("Failed to commit queued task {}", submission.ticket(), e);
+        tickets.put(submission.ticket(), new TaskIngestTicketDTO(submission.ticket(), TaskIngestStatus.FAILED, null));
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.pherom.simpletaskmanager.task.ingest;
+
+public enum TaskIngestStatus {
+    QUEUED,
+    CREATED,
+    FAILED
+}
@@ -0,0 +1,441 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskChangeEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksCreatedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksPatchedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import com.pherom.simpletaskmanager.task.ingest.TaskIngestQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of committed task changes. Change events are queued after commit and a single writer thread
+ * appends everything that queued up while the previous write was in flight as one group, then forces the segment
+ * according to {@code task.journal.fsync}. Segments roll over once they reach {@code task.journal.segment-size}.
+ * <p>
+ * Journaling happens after the database commit, so a crash can lose the changes still queued. A full queue makes
+ * committing threads wait up to {@code task.journal.offer-timeout}; a change that still finds no room is dropped
+ * from the journal. A failed write stops the journal and releases everything still queued. Either is reported as
+ * {@code DOWN} by {@link TaskJournalHealthIndicator}. On start the last segment is scanned and any torn record at
+ * its tail is cut off. {@link TaskJournalReplayer} rebuilds the task table from the segments.
+ * <p>
+ * Wiping or replacing every task writes a checkpoint: a new segment starting with the wipe, followed by the
+ * replacing rows. Once it is forced, every older segment is deleted, since replay would discard them at the wipe.
+ * <p>
+ * Bulk patches and replacements are published without their rows, so the writer reads back the current rows of the
+ * tasks they may have touched and journals them as saved; replay keeps the highest version, so a row read after a
+ * later update is as good as the one written.
+ */
+@Component
+public class TaskJournal implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskJournal.class);
+
+    /**
+     * Below the ingest queue's phase, so the journal starts before anything can commit changes and stops only after
+     * the web server and the ingest queue have finished theirs.
+     */
+    public static final int PHASE = TaskIngestQueue.PHASE - 1024;
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private record Pending(TaskChangeEvent event, CountDownLatch synced) {
+    }
+
+    private static final class Scratch extends ByteArrayOutputStream {
+        Scratch() {
+            super(512);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+
+    private final TaskJournalStore store;
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentSize;
+    private final TaskJournalFsync fsync;
+    private final long fsyncIntervalNanos;
+    private final int batchSize;
+    private final long offerTimeoutNanos;
+    private final BlockingQueue<Pending> queue;
+    private final Scratch scratch = new Scratch();
+    private final DataOutputStream scratchOut = new DataOutputStream(scratch);
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile IOException failure;
+    private Thread writer;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private FileChannel segment;
+    private long segmentBytes;
+    private long nextSequence;
+    private boolean unforced;
+    private long lastForced;
+
+    public TaskJournal(TaskJournalStore store,
+                       @Value("${task.journal.enabled:false}") boolean enabled,
+                       @Value("${task.journal.directory:./journal}") Path directory,
+                       @Value("${task.journal.segment-size:64MB}") DataSize segmentSize,
+                       @Value("${task.journal.fsync:batch}") TaskJournalFsync fsync,
+                       @Value("${task.journal.fsync-interval:1s}") Duration fsyncInterval,
+                       @Value("${task.journal.queue-capacity:65536}") int capacity,
+                       @Value("${task.journal.offer-timeout:5s}") Duration offerTimeout,
+                       @Value("${task.journal.batch-size:4096}") int batchSize) {
+        this.store = store;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize.toBytes();
+        this.fsync = fsync;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.batchSize = batchSize;
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * The write error that stopped the journal, or {@code null} while it is healthy.
+     */
+    public IOException failure() {
+        return failure;
+    }
+
+    /**
+     * Number of committed changes that found the queue full and were not journaled.
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    @TransactionalEventListener
+    public void onTaskChange(TaskChangeEvent event) {
+        if (!running) {
+            return;
+        }
+        try {
+            if (!queue.offer(new Pending(event, null), offerTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                dropped.incrementAndGet();
+                log.warn("Task journal queue stayed full; a committed change was not journaled");
+            }
+        } catch (InterruptedException e) {
+            dropped.incrementAndGet();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until every change queued before this call is written and forced to disk, whatever the fsync policy.
+     *
+     * @return {@code false} if the journal is not running, failed, or the writer did not catch up within {@code timeout}
+     */
+    public boolean sync(Duration timeout) throws InterruptedException {
+        if (!running) {
+            return false;
+        }
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CountDownLatch synced = new CountDownLatch(1);
+        return queue.offer(new Pending(null, synced), timeout.toNanos(), TimeUnit.NANOSECONDS)
+                && synced.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)
+                && failure == null;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the task journal in " + directory, e);
+        }
+        running = true;
+        writer = Thread.ofPlatform().name("task-journal-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(IDLE_POLL_MILLIS + 5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = TaskJournalCodec.segments(directory);
+        if (segments.isEmpty()) {
+            nextSequence = 1;
+            openSegment(nextSequence);
+            return;
+        }
+
+        Path last = segments.getLast();
+        long[] lastSequence = {TaskJournalCodec.firstSequence(last) - 1};
+        FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        long valid = (size == 0) ? 0
+                : TaskJournalCodec.scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), record -> lastSequence[0] = record.sequence());
+        if (valid < size) {
+            log.warn("Truncating {} bytes of incomplete records at the end of {}", size - valid, last);
+            channel.truncate(valid);
+            channel.force(true);
+        }
+        channel.position(valid);
+
+        segment = channel;
+        segmentBytes = valid;
+        nextSequence = lastSequence[0] + 1;
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(directory.resolve(TaskJournalCodec.segmentName(firstSequence)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segmentBytes = 0;
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                    batch.clear();
+                } else if (fsync == TaskJournalFsync.INTERVAL && System.nanoTime() - lastForced >= fsyncIntervalNanos) {
+                    force();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failure = e;
+            running = false;
+            log.error("Task journal stopped after a failed write; changes are no longer journaled", e);
+            release(batch);
+        } finally {
+            close();
+        }
+    }
+
+    private void write(List<Pending> batch) throws IOException {
+        boolean syncRequested = false;
+        for (Pending pending : batch) {
+            if (pending.event() == null) {
+                syncRequested = true;
+            } else {
+                append(pending.event());
+            }
+        }
+        flushBuffer();
+
+        if (syncRequested || fsync == TaskJournalFsync.BATCH
+                || (fsync == TaskJournalFsync.INTERVAL && System.nanoTime() - lastForced >= fsyncIntervalNanos)) {
+            force();
+        }
+        for (Pending pending : batch) {
+            if (pending.synced() != null) {
+                pending.synced().countDown();
+            }
+        }
+    }
+
+    private void append(TaskChangeEvent event) throws IOException {
+        switch (event) {
+            case TaskSavedEvent saved -> append(new TaskJournalRecord.Saved(nextSequence, saved.current()));
+            case TasksCreatedEvent created -> {
+                for (TaskResponseDTO task : created.tasks()) {
+                    append(new TaskJournalRecord.Saved(nextSequence, task));
+                }
+            }
+            case TasksPatchedEvent patched -> appendPatched(patched.request());
+            case TaskDeletedEvent deleted -> append(new TaskJournalRecord.Deleted(nextSequence, deleted.id()));
+            case TasksDeletedEvent deleted -> {
+                for (long id : deleted.ids()) {
+                    append(new TaskJournalRecord.Deleted(nextSequence, id));
+                }
+            }
+            case AllTasksDeletedEvent ignored -> checkpoint(null);
+            case TasksReplacedEvent ignored -> checkpoint(() -> store.streamByCompleted(null));
+        }
+    }
+
+    /**
+     * Starts a new segment with a wipe and {@code rows}, forces it whatever the fsync policy and deletes every older
+     * segment.
+     */
+    private void checkpoint(Supplier<Stream<TaskResponseDTO>> rows) throws IOException {
+        long first = nextSequence;
+        if (segmentBytes > 0) {
+            roll(first);
+        }
+        append(new TaskJournalRecord.Cleared(first));
+        if (rows != null) {
+            appendAll(rows, "the replaced tasks");
+        }
+        flushBuffer();
+        force();
+
+        for (Path older : TaskJournalCodec.segments(directory)) {
+            if (TaskJournalCodec.firstSequence(older) < first) {
+                Files.delete(older);
+            }
+        }
+    }
+
+    private void appendPatched(TaskBulkPatchRequestDTO request) throws IOException {
+        Boolean completed = (request.set().completed() != null) ? request.set().completed()
+                : (request.filter() != null) ? request.filter().completed() : null;
+        appendAll(() -> (request.ids() != null) ? store.streamByIds(request.ids()) : store.streamByCompleted(completed),
+                "the tasks of a bulk patch");
+    }
+
+    private void appendAll(Supplier<Stream<TaskResponseDTO>> rows, String what) throws IOException {
+        try (Stream<TaskResponseDTO> tasks = rows.get()) {
+            for (Iterator<TaskResponseDTO> iterator = tasks.iterator(); iterator.hasNext(); ) {
+                append(new TaskJournalRecord.Saved(nextSequence, iterator.next()));
+            }
+        } catch (DataAccessException e) {
+            throw new IOException("Could not read back " + what, e);
+        }
+    }
+
+    private void append(TaskJournalRecord record) throws IOException {
+        scratch.reset();
+        TaskJournalCodec.encode(record, scratchOut);
+        int length = scratch.size();
+        int frame = TaskJournalCodec.FRAME_HEADER_BYTES + length;
+
+        if (segmentBytes > 0 && segmentBytes + frame > segmentSize) {
+            roll(record.sequence());
+        }
+        if (buffer.remaining() < frame) {
+            flushBuffer();
+            if (buffer.capacity() < frame) {
+                buffer = ByteBuffer.allocateDirect(frame);
+            }
+        }
+
+        buffer.putInt(length)
+                .putInt(TaskJournalCodec.checksum(scratch.bytes(), length))
+                .put(scratch.bytes(), 0, length);
+        segmentBytes += frame;
+        ++nextSequence;
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        flushBuffer();
+        if (fsync != TaskJournalFsync.NONE) {
+            force();
+        }
+        segment.close();
+        openSegment(firstSequence);
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        if (buffer.hasRemaining()) {
+            unforced = true;
+        }
+        while (buffer.hasRemaining()) {
+            segment.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void force() throws IOException {
+        if (unforced) {
+            segment.force(false);
+            unforced = false;
+        }
+        lastForced = System.nanoTime();
+    }
+
+    /**
+     * Empties the queue after a failure so committing threads waiting for room return, and wakes every waiting
+     * {@link #sync(Duration)}.
+     */
+    private void release(List<Pending> batch) {
+        List<Pending> abandoned = new ArrayList<>(batch);
+        queue.drainTo(abandoned);
+        for (Pending pending : abandoned) {
+            if (pending.synced() != null) {
+                pending.synced().countDown();
+            }
+        }
+    }
+
+    private void close() {
+        try {
+            flushBuffer();
+            if (fsync != TaskJournalFsync.NONE) {
+                force();
+            }
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the task journal segment", e);
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of journal segments. Each record is framed as {@code [int length][int crc32c][body]} where the
+ * body starts with the sequence number and a type byte. Segments are named after the sequence of their first
+ * record, zero-padded so that name order is replay order.
+ */
+final class TaskJournalCodec {
+
+    static final int FRAME_HEADER_BYTES = 8;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int MIN_BODY_BYTES = 9;
+
+    private static final byte SAVED = 1;
+    private static final byte DELETED = 3;
+    private static final byte CLEARED = 4;
+
+    private TaskJournalCodec() {
+    }
+
+    static String segmentName(long firstSequence) {
+        return String.format("%020d%s", firstSequence, SEGMENT_SUFFIX);
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static int checksum(byte[] body, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(body, 0, length);
+        return (int) crc.getValue();
+    }
+
+    static void encode(TaskJournalRecord record, DataOutputStream out) throws IOException {
+        out.writeLong(record.sequence());
+        switch (record) {
+            case TaskJournalRecord.Saved saved -> {
+                TaskResponseDTO task = saved.task();
+                out.writeByte(SAVED);
+                out.writeLong(task.id());
+                out.writeLong(task.version());
+                out.writeBoolean(task.completed());
+                writeString(out, task.title());
+                writeString(out, task.description());
+            }
+            case TaskJournalRecord.Deleted deleted -> {
+                out.writeByte(DELETED);
+                out.writeLong(deleted.id());
+            }
+            case TaskJournalRecord.Cleared ignored -> out.writeByte(CLEARED);
+        }
+    }
+
+    static TaskJournalRecord decode(ByteBuffer body) {
+        long sequence = body.getLong();
+        return switch (body.get()) {
+            case SAVED -> new TaskJournalRecord.Saved(sequence, readTask(body));
+            case DELETED -> new TaskJournalRecord.Deleted(sequence, body.getLong());
+            case CLEARED -> new TaskJournalRecord.Cleared(sequence);
+            default -> throw new IllegalArgumentException("Unknown journal record type at sequence " + sequence);
+        };
+    }
+
+    /**
+     * Decodes the records of one segment, stopping at the first frame that is incomplete or fails its checksum,
+     * which is what a crash in the middle of a write leaves behind.
+     *
+     * @return the number of bytes holding valid records
+     */
+    static int scan(ByteBuffer segment, Consumer<TaskJournalRecord> sink) {
+        int valid = segment.position();
+        while (segment.remaining() >= FRAME_HEADER_BYTES) {
+            int length = segment.getInt();
+            int checksum = segment.getInt();
+            if (length < MIN_BODY_BYTES || length > segment.remaining()) {
+                break;
+            }
+
+            byte[] body = new byte[length];
+            segment.get(body);
+            if (checksum(body, length) != checksum) {
+                break;
+            }
+            sink.accept(decode(ByteBuffer.wrap(body)));
+            valid = segment.position();
+        }
+        return valid;
+    }
+
+    private static TaskResponseDTO readTask(ByteBuffer body) {
+        long id = body.getLong();
+        long version = body.getLong();
+        boolean completed = body.get() != 0;
+        String title = readString(body);
+        return new TaskResponseDTO(id, title, readString(body), completed, version);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(body.array(), body.arrayOffset() + body.position(), length, StandardCharsets.UTF_8);
+        body.position(body.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,10 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+public enum TaskJournalFsync {
+    /** Force the segment to disk after every group commit. */
+    BATCH,
+    /** Force the segment at most once per {@code task.journal.fsync-interval}. */
+    INTERVAL,
+    /** Leave flushing to the operating system. */
+    NONE
+}
@@ -0,0 +1,34 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the task journal as {@code taskJournal} in the health endpoint and the readiness group: {@code DOWN} once a
+ * failed write has stopped it or a change was dropped from a full queue, since the journal no longer holds every
+ * committed change.
+ */
+@Component
+public class TaskJournalHealthIndicator implements HealthIndicator {
+
+    private final TaskJournal journal;
+
+    public TaskJournalHealthIndicator(TaskJournal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public Health health() {
+        if (!journal.isEnabled()) {
+            return Health.up().withDetail("enabled", false).build();
+        }
+        if (journal.failure() != null) {
+            return Health.down(journal.failure()).withDetail("directory", journal.directory().toString()).build();
+        }
+        if (journal.dropped() > 0) {
+            return Health.down().withDetail("directory", journal.directory().toString()).withDetail("dropped", journal.dropped()).build();
+        }
+        return Health.up().withDetail("directory", journal.directory().toString()).build();
+    }
+}
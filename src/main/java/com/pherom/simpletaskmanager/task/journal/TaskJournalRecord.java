@@ -0,0 +1,17 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+
+public sealed interface TaskJournalRecord {
+
+    long sequence();
+
+    record Saved(long sequence, TaskResponseDTO task) implements TaskJournalRecord {
+    }
+
+    record Deleted(long sequence, long id) implements TaskJournalRecord {
+    }
+
+    record Cleared(long sequence) implements TaskJournalRecord {
+    }
+}
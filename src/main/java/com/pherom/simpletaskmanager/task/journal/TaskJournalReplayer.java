@@ -0,0 +1,106 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import com.pherom.simpletaskmanager.task.dto.TaskJournalReplayDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.exception.TaskJournalNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds task state by replaying journal segments in sequence order. {@link #rebuild(Path)} works on any journal
+ * directory without touching the database; {@link #replay()} loads the result into the task table, replacing
+ * whatever it holds. Changes committed while a replay runs are journaled but overwritten in the table.
+ * <p>
+ * Records are journaled after commit, so concurrent updates of one task can reach the journal out of order; a saved
+ * task therefore only replaces the rebuilt one when its version is higher, and a deleted task stays deleted until the
+ * next wipe. Bulk patches are journaled as the tasks they changed, and snapshot restores as a wipe followed by the
+ * restored tasks.
+ */
+@Service
+public class TaskJournalReplayer {
+
+    private static final Duration SYNC_TIMEOUT = Duration.ofSeconds(30);
+
+    public record Rebuild(SortedMap<Long, TaskResponseDTO> tasks, int segments, long records) {
+    }
+
+    private final TaskJournal journal;
+    private final TaskJournalStore store;
+
+    public TaskJournalReplayer(TaskJournal journal, TaskJournalStore store) {
+        this.journal = journal;
+        this.store = store;
+    }
+
+    public TaskJournalReplayDTO replay() {
+        long start = System.nanoTime();
+        try {
+            journal.sync(SYNC_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Rebuild rebuild;
+        try {
+            rebuild = rebuild(journal.directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (rebuild.segments() == 0) {
+            throw new TaskJournalNotFoundException(journal.directory());
+        }
+
+        store.replaceAll(new ArrayList<>(rebuild.tasks().values()));
+        return new TaskJournalReplayDTO(rebuild.segments(), rebuild.records(), rebuild.tasks().size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public static Rebuild rebuild(Path directory) throws IOException {
+        List<Path> segments = TaskJournalCodec.segments(directory);
+        SortedMap<Long, TaskResponseDTO> tasks = new TreeMap<>();
+        Set<Long> deleted = new HashSet<>();
+        long[] records = {0};
+        for (Path segment : segments) {
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                if (channel.size() > 0) {
+                    TaskJournalCodec.scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), record -> {
+                        apply(tasks, deleted, record);
+                        ++records[0];
+                    });
+                }
+            }
+        }
+        return new Rebuild(tasks, segments.size(), records[0]);
+    }
+
+    private static void apply(SortedMap<Long, TaskResponseDTO> tasks, Set<Long> deleted, TaskJournalRecord record) {
+        switch (record) {
+            case TaskJournalRecord.Saved saved -> {
+                if (!deleted.contains(saved.task().id())) {
+                    tasks.merge(saved.task().id(), saved.task(), (current, task) -> (task.version() > current.version()) ? task : current);
+                }
+            }
+            case TaskJournalRecord.Deleted removed -> {
+                tasks.remove(removed.id());
+                deleted.add(removed.id());
+            }
+            case TaskJournalRecord.Cleared ignored -> {
+                tasks.clear();
+                deleted.clear();
+            }
+        }
+    }
+}
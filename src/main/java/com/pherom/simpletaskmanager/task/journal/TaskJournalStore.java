@@ -0,0 +1,82 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import com.pherom.simpletaskmanager.task.repository.TaskIdSequence;
+import com.pherom.simpletaskmanager.task.repository.TaskSyncRepository;
+import com.pherom.simpletaskmanager.task.service.TaskWriteTracker;
+import jakarta.transaction.Transactional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public class TaskJournalStore {
+
+    private static final String INSERT_TASK = "insert into tasks (id, title, description, completed, version) values (?, ?, ?, ?, ?)";
+    private static final String SELECT_TASKS = "select id, title, description, completed, version from tasks";
+    private static final RowMapper<TaskResponseDTO> TASK_ROW = (rs, row) ->
+            new TaskResponseDTO(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getBoolean(4), rs.getLong(5));
+    private static final int BATCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbc;
+    private final TaskSyncRepository syncRepository;
+    private final TaskIdSequence taskIdSequence;
+    private final TaskWriteTracker writeTracker;
+    private final ApplicationEventPublisher publisher;
+
+    public TaskJournalStore(JdbcTemplate jdbc, TaskSyncRepository syncRepository, TaskIdSequence taskIdSequence,
+                            TaskWriteTracker writeTracker, ApplicationEventPublisher publisher) {
+        this.jdbc = jdbc;
+        this.syncRepository = syncRepository;
+        this.taskIdSequence = taskIdSequence;
+        this.writeTracker = writeTracker;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Streams the current rows of the given tasks, skipping ids that no longer exist. The stream holds a connection
+     * until it is closed.
+     */
+    public Stream<TaskResponseDTO> streamByIds(Collection<Long> ids) {
+        return jdbc.queryForStream(SELECT_TASKS + " where id = any(?) order by id", TASK_ROW, (Object) ids.toArray(Long[]::new));
+    }
+
+    /**
+     * Streams the current rows of every task, or of those with the given completion state unless it is {@code null}.
+     * The stream holds a connection until it is closed.
+     */
+    public Stream<TaskResponseDTO> streamByCompleted(Boolean completed) {
+        return (completed == null)
+                ? jdbc.queryForStream(SELECT_TASKS + " order by id", TASK_ROW)
+                : jdbc.queryForStream(SELECT_TASKS + " where completed = ? order by id", TASK_ROW, completed);
+    }
+
+    /**
+     * Replaces every task with {@code tasks} and moves the id sequence past them. The replacement is published
+     * without rows, so the caches, search index and stats reload from the table and the journal records the replayed
+     * table itself, keeping a later replay idempotent.
+     */
+    @Transactional
+    public void replaceAll(List<TaskResponseDTO> tasks) {
+        writeTracker.enlist();
+        jdbc.update("delete from tasks");
+        syncRepository.reset();
+        jdbc.batchUpdate(INSERT_TASK, tasks, BATCH_SIZE, (ps, task) -> {
+            ps.setLong(1, task.id());
+            ps.setString(2, task.title());
+            ps.setString(3, task.description());
+            ps.setBoolean(4, task.completed());
+            ps.setLong(5, task.version());
+        });
+
+        taskIdSequence.moveAfterExistingIds();
+
+        publisher.publishEvent(new TasksReplacedEvent());
+    }
+}
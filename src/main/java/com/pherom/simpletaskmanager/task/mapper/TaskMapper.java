@@ -9,11 +9,11 @@ import org.springframework.stereotype.Component;
 public class TaskMapper {
 
     public Task toTask(TaskRequestDTO dto) {
-        return new Task(dto.title(), dto.description(), dto.completed());
+        return new Task(dto.title(), dto.description(), Boolean.TRUE.equals(dto.completed()));
     }
 
     public TaskResponseDTO toDTO(Task task) {
-        return new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.isCompleted());
+        return new TaskResponseDTO(task.getId(), task.getTitle(), task.getDescription(), task.isCompleted(), task.getVersion());
     }
 
 }
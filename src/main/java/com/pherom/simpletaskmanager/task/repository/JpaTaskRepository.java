@@ -1,12 +1,81 @@
 package com.pherom.simpletaskmanager.task.repository;
 
 import com.pherom.simpletaskmanager.task.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JpaTaskRepository extends JpaRepository<Task, Long> {
-    Optional<Task> findByTitle(String title);
+    Optional<Task> findFirstByTitleOrderByIdAsc(String title);
+    List<Task> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+    List<Task> findByCompletedAndIdGreaterThanOrderByIdAsc(boolean completed, long id, Limit limit);
+    List<Task> findByModSeqGreaterThanAndModSeqLessThanOrderByModSeqAsc(long after, long before, Limit limit);
+
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    @Query("select t from Task t where t.title >= :from and t.title < :to order by t.title, t.id")
+    List<Task> findByTitleRange(@Param("from") String from, @Param("to") String to, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t order by t.id")
+    Stream<Task> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t where t.id in :ids order by t.id")
+    Stream<Task> streamByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t where t.completed = :completed order by t.id")
+    Stream<Task> streamByCompleted(@Param("completed") boolean completed);
+
+    @Modifying
+    @Query("update Task t set t.title = coalesce(:title, t.title), t.description = coalesce(:description, t.description), " +
+            "t.completed = coalesce(:completed, t.completed), t.version = t.version + 1 " +
+            "where t.id in :ids and (:state is null or t.completed = :state)")
+    int patchByIdIn(@Param("ids") Collection<Long> ids, @Param("state") Boolean state, @Param("title") String title,
+                    @Param("description") String description, @Param("completed") Boolean completed);
+
+    @Modifying
+    @Query("update Task t set t.title = coalesce(:title, t.title), t.description = coalesce(:description, t.description), " +
+            "t.completed = coalesce(:completed, t.completed), t.version = t.version + 1 " +
+            "where :state is null or t.completed = :state")
+    int patchByCompleted(@Param("state") Boolean state, @Param("title") String title,
+                         @Param("description") String description, @Param("completed") Boolean completed);
+
+    long countByCompleted(boolean completed);
+
+    @Query(value = "select id, completed from old table (delete from tasks where id in :ids)", nativeQuery = true)
+    List<RemovedTask> removeByIdInReturning(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Row actually removed by {@link #removeByIdInReturning}; requested ids that did not exist have none.
+     */
+    interface RemovedTask {
+
+        long getId();
+
+        boolean isCompleted();
+    }
 }
@@ -0,0 +1,47 @@
+package com.pherom.simpletaskmanager.task.repository;
+
+import com.pherom.simpletaskmanager.task.entity.TaskRow;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface R2dbcTaskRepository extends R2dbcRepository<TaskRow, Long> {
+
+    @Query("select next value for tasks_seq")
+    Mono<Long> nextId();
+
+    @Query("select increment from information_schema.sequences where sequence_name = 'TASKS_SEQ'")
+    Mono<Long> findIdIncrement();
+
+    @Query("select * from tasks where id > :after order by id limit :limit")
+    Flux<TaskRow> findPage(@Param("after") long after, @Param("limit") int limit);
+
+    @Query("select * from tasks where completed = :completed and id > :after order by id limit :limit")
+    Flux<TaskRow> findPageByCompleted(@Param("completed") boolean completed, @Param("after") long after, @Param("limit") int limit);
+
+    @Query("select * from tasks order by id")
+    Flux<TaskRow> streamAll();
+
+    @Query("select version from tasks where id = :id")
+    Mono<Long> findVersionById(@Param("id") long id);
+
+    @Query("select completed from old table (delete from tasks where id = :id)")
+    Mono<Boolean> removeByIdReturningCompleted(@Param("id") long id);
+
+    @Modifying
+    @Query("merge into task_tombstones (id, mod_seq) key (id) values (:id, next value for task_mod_seq)")
+    Mono<Integer> recordDelete(@Param("id") long id);
+
+    @Modifying
+    @Query("update task_sync set reset_seq = next value for task_mod_seq")
+    Mono<Integer> markReset();
+
+    @Modifying
+    @Query("delete from task_tombstones")
+    Mono<Integer> removeAllTombstones();
+}
@@ -0,0 +1,66 @@
+package com.pherom.simpletaskmanager.task.repository;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.OptionalLong;
+
+/**
+ * Draws ids for reactive inserts from {@code tasks_seq} the way Hibernate's pooled optimizer does for JPA inserts:
+ * each sequence value {@code hi} stands for the block {@code hi - increment + 1 .. hi}, so both stacks can share the
+ * sequence without handing out the same id, and only one in every {@code increment} ids costs a round trip.
+ * <p>
+ * {@link TaskIdSequence} discards the pooled block after moving the sequence past explicitly inserted ids; a fetch
+ * that was already in flight then still returns its first id but does not pool the rest.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveTaskIds {
+
+    private final R2dbcTaskRepository repository;
+    private final Mono<Long> increment;
+
+    private long next = 1;
+    private long hi = 0;
+    private long generation;
+
+    public ReactiveTaskIds(R2dbcTaskRepository repository) {
+        this.repository = repository;
+        this.increment = repository.findIdIncrement().cache();
+    }
+
+    public Mono<Long> next() {
+        return Mono.defer(() -> {
+            OptionalLong pooled = take();
+            if (pooled.isPresent()) {
+                return Mono.just(pooled.getAsLong());
+            }
+            long fetchedIn = generation();
+            return increment.zipWith(repository.nextId(), (step, value) -> adopt(fetchedIn, step, value));
+        });
+    }
+
+    public synchronized void reset() {
+        next = 1;
+        hi = 0;
+        generation++;
+    }
+
+    private synchronized OptionalLong take() {
+        return next <= hi ? OptionalLong.of(next++) : OptionalLong.empty();
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized long adopt(long fetchedIn, long increment, long value) {
+        long first = Math.max(1, value - increment + 1);
+        if (fetchedIn == generation && next > hi) {
+            next = first + 1;
+            hi = value;
+        }
+        return first;
+    }
+}
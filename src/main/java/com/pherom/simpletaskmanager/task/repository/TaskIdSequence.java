@@ -0,0 +1,61 @@
+package com.pherom.simpletaskmanager.task.repository;
+
+import com.pherom.simpletaskmanager.task.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Keeps task id generation ahead of rows inserted with explicit ids, as snapshot restores and journal replays do.
+ * <p>
+ * Tasks draw ids from {@code tasks_seq} through Hibernate's pooled optimizer: each sequence value {@code hi} stands
+ * for the block {@code hi - increment + 1 .. hi}, and the current block is held in memory. Moving past inserted
+ * rows therefore restarts the sequence at least one increment beyond the highest id, and then draws ids from the
+ * generator until it hands out one above that id, discarding whatever was left of the in-memory block. The block
+ * pooled by {@link ReactiveTaskIds} under the reactive profile is discarded as well.
+ */
+@Repository
+public class TaskIdSequence {
+
+    private final JdbcTemplate jdbc;
+    private final EntityManager entityManager;
+    private final ObjectProvider<ReactiveTaskIds> reactiveIds;
+
+    public TaskIdSequence(JdbcTemplate jdbc, EntityManager entityManager, ObjectProvider<ReactiveTaskIds> reactiveIds) {
+        this.jdbc = jdbc;
+        this.entityManager = entityManager;
+        this.reactiveIds = reactiveIds;
+    }
+
+    @Transactional
+    public void moveAfterExistingIds() {
+        SequenceStyleGenerator generator = generator();
+        long increment = generator.getOptimizer().getIncrementSize();
+        long maxId = jdbc.queryForObject("select coalesce(max(id), 0) from tasks", Long.class);
+        long current = jdbc.queryForObject("select base_value from information_schema.sequences where sequence_name = 'TASKS_SEQ'", Long.class);
+
+        long restart = ((maxId + increment - 1) / increment + 1) * increment + 1;
+        if (restart > current) {
+            jdbc.execute("alter sequence tasks_seq restart with " + restart);
+        }
+
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        long id;
+        do {
+            id = ((Number) generator.generate(session, null)).longValue();
+        } while (id <= maxId);
+        reactiveIds.ifAvailable(ReactiveTaskIds::reset);
+    }
+
+    private SequenceStyleGenerator generator() {
+        return (SequenceStyleGenerator) entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Task.class)
+                .getGenerator();
+    }
+}
@@ -0,0 +1,52 @@
+package com.pherom.simpletaskmanager.task.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bookkeeping for delta sync next to the {@code mod_seq} column of {@code tasks}: a tombstone per deleted task
+ * and the sequence of the last reset, taken whenever the whole table is wiped or replaced. Both draw from
+ * {@code task_mod_seq} so they order with task changes.
+ */
+@Repository
+public class TaskSyncRepository {
+
+    public record Tombstone(long id, long modSeq) {
+    }
+
+    /**
+     * @param resetSeq sequence of the last reset
+     * @param nextSeq  next sequence value to be handed out; tokens at or past it come from another database
+     */
+    public record SyncState(long resetSeq, long nextSeq) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public TaskSyncRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void recordDeletes(Collection<Long> ids) {
+        jdbc.batchUpdate("merge into task_tombstones (id, mod_seq) key (id) values (?, next value for task_mod_seq)",
+                ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    public void reset() {
+        jdbc.update("update task_sync set reset_seq = next value for task_mod_seq");
+        jdbc.update("delete from task_tombstones");
+    }
+
+    public SyncState findState() {
+        return jdbc.queryForObject("select reset_seq, (select base_value from information_schema.sequences "
+                + "where sequence_name = 'TASK_MOD_SEQ') from task_sync", (rs, row) -> new SyncState(rs.getLong(1), rs.getLong(2)));
+    }
+
+    public List<Tombstone> findTombstonesBetween(long after, long before, int limit) {
+        return jdbc.query("select id, mod_seq from task_tombstones where mod_seq > ? and mod_seq < ? order by mod_seq limit ?",
+                (rs, row) -> new Tombstone(rs.getLong(1), rs.getLong(2)), after, before, limit);
+    }
+}
@@ -0,0 +1,144 @@
+package com.pherom.simpletaskmanager.task.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from task id to the indexed version and encoded term ids of the task, kept in parallel arrays
+ * so an indexed task costs two {@code long} slots and one {@code int[]} rather than a boxed key, map entry and term
+ * sets.
+ * <p>
+ * An entry is {@code [titleCount, title term ids..., description term ids...]}.
+ */
+final class IndexedTasks {
+
+    private long[] ids = new long[16];
+    private long[] versions = new long[16];
+    private int[][] entries = new int[16][];
+    private int size;
+
+    static int[] encode(int[] titleTerms, int[] descriptionTerms) {
+        int[] entry = new int[1 + titleTerms.length + descriptionTerms.length];
+        entry[0] = titleTerms.length;
+        System.arraycopy(titleTerms, 0, entry, 1, titleTerms.length);
+        System.arraycopy(descriptionTerms, 0, entry, 1 + titleTerms.length, descriptionTerms.length);
+        return entry;
+    }
+
+    static int[] titleTerms(int[] entry) {
+        return Arrays.copyOfRange(entry, 1, 1 + entry[0]);
+    }
+
+    static int[] descriptionTerms(int[] entry) {
+        return Arrays.copyOfRange(entry, 1 + entry[0], entry.length);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] get(long id) {
+        int slot = find(id);
+        return (slot < 0) ? null : entries[slot];
+    }
+
+    /**
+     * @return the indexed version of the task, or {@code -1} if it is not indexed
+     */
+    long version(long id) {
+        int slot = find(id);
+        return (slot < 0) ? -1 : versions[slot];
+    }
+
+    int[] put(long id, int[] entry, long version) {
+        int slot = slot(id);
+        for (; entries[slot] != null; slot = next(slot)) {
+            if (ids[slot] == id) {
+                int[] previous = entries[slot];
+                entries[slot] = entry;
+                versions[slot] = version;
+                return previous;
+            }
+        }
+
+        ids[slot] = id;
+        versions[slot] = version;
+        entries[slot] = entry;
+        if (++size > ids.length * 3 / 4) {
+            resize(ids.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry and shifts later entries of its probe run back, so lookups never need tombstones.
+     */
+    int[] remove(long id) {
+        int slot = slot(id);
+        while (entries[slot] != null && ids[slot] != id) {
+            slot = next(slot);
+        }
+        int[] previous = entries[slot];
+        if (previous == null) {
+            return null;
+        }
+
+        int gap = slot;
+        for (int scan = next(gap); entries[scan] != null; scan = next(scan)) {
+            int home = slot(ids[scan]);
+            if (((scan - home) & (ids.length - 1)) >= ((scan - gap) & (ids.length - 1))) {
+                ids[gap] = ids[scan];
+                versions[gap] = versions[scan];
+                entries[gap] = entries[scan];
+                gap = scan;
+            }
+        }
+        entries[gap] = null;
+        --size;
+        return previous;
+    }
+
+    void clear() {
+        ids = new long[16];
+        versions = new long[16];
+        entries = new int[16][];
+        size = 0;
+    }
+
+    private int find(long id) {
+        for (int slot = slot(id); entries[slot] != null; slot = next(slot)) {
+            if (ids[slot] == id) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int slot(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & (ids.length - 1);
+    }
+
+    private int next(int slot) {
+        return (slot + 1) & (ids.length - 1);
+    }
+
+    private void resize(int capacity) {
+        long[] oldIds = ids;
+        long[] oldVersions = versions;
+        int[][] oldEntries = entries;
+        ids = new long[capacity];
+        versions = new long[capacity];
+        entries = new int[capacity][];
+        for (int slot = 0; slot < oldIds.length; ++slot) {
+            if (oldEntries[slot] != null) {
+                int target = slot(oldIds[slot]);
+                while (entries[target] != null) {
+                    target = next(target);
+                }
+                ids[target] = oldIds[slot];
+                versions[target] = oldVersions[slot];
+                entries[target] = oldEntries[slot];
+            }
+        }
+    }
+}
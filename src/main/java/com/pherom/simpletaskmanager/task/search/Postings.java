@@ -0,0 +1,108 @@
+package com.pherom.simpletaskmanager.task.search;
+
+import java.util.Arrays;
+
+/**
+ * Id-sorted postings of one term. Removals only clear an entry's fields; the cleared entries are compacted away
+ * once they make up half of the list, so removing a task is amortized constant time rather than an array shift.
+ */
+final class Postings {
+
+    static final byte TITLE = 1;
+    static final byte DESCRIPTION = 2;
+
+    private long[] ids = new long[4];
+    private byte[] fields = new byte[4];
+    private int size;
+    private int removed;
+
+    void add(long id, byte field) {
+        int index = (size > 0 && ids[size - 1] < id) ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            if (fields[index] == 0) {
+                --removed;
+            }
+            fields[index] |= field;
+            return;
+        }
+
+        int insertAt = -(index + 1);
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            fields = Arrays.copyOf(fields, size * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(fields, insertAt, fields, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        fields[insertAt] = field;
+        ++size;
+    }
+
+    void remove(long id, byte field) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+
+        if (fields[index] == 0) {
+            return;
+        }
+        fields[index] &= (byte) ~field;
+        if (fields[index] == 0 && ++removed * 2 >= size) {
+            compact();
+        }
+    }
+
+    /**
+     * Number of tasks the term occurs in.
+     */
+    int count() {
+        return size - removed;
+    }
+
+    /**
+     * Number of entries, including removed ones whose {@link #fields(int)} are {@code 0}.
+     */
+    int size() {
+        return size;
+    }
+
+    long id(int index) {
+        return ids[index];
+    }
+
+    byte fields(int index) {
+        return fields[index];
+    }
+
+    /**
+     * Returns the first position at or after {@code from} whose id is at least {@code target}, galloping ahead
+     * before binary searching so that skipping through long lists stays logarithmic.
+     */
+    int advance(int from, long target) {
+        int bound = 1;
+        while (from + bound < size && ids[from + bound] < target) {
+            bound <<= 1;
+        }
+
+        int index = Arrays.binarySearch(ids, from + (bound >> 1), Math.min(from + bound + 1, size), target);
+        return (index >= 0) ? index : -(index + 1);
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < size; ++i) {
+            if (fields[i] != 0) {
+                ids[kept] = ids[i];
+                fields[kept] = fields[i];
+                ++kept;
+            }
+        }
+        size = kept;
+        removed = 0;
+        if (ids.length > 16 && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+            fields = Arrays.copyOf(fields, fields.length / 2);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.pherom.simpletaskmanager.task.search;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksCreatedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksDeletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over task titles and descriptions. Each term maps to an id-sorted list of primitive
+ * postings, and queries are evaluated document-at-a-time over those lists, so ranking the top results needs only
+ * a heap of {@code limit} entries however many tasks match.
+ * <p>
+ * Memory grows with the number of indexed tasks: each one keeps a primitive array of its term ids so updates and
+ * deletes can find its postings, and the version it was indexed at. After-commit listeners of concurrent updates
+ * may run out of order, so a task only replaces its indexed copy when its version is not older. At most {@code task.search.max-indexed-tasks} tasks are indexed; tasks created
+ * beyond that cap are left out of search results and a warning is logged.
+ * <p>
+ * A query is a list of terms, implicitly AND-ed; the keyword {@code OR} separates alternative groups.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final int MAX_QUERY_TERMS = 32;
+    private static final double TITLE_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private final int maxTasks;
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Deque<Integer> freeTermIds = new ArrayDeque<>();
+    private final IndexedTasks tasks = new IndexedTasks();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean capReached;
+
+    public TaskSearchIndex(@Value("${task.search.max-indexed-tasks:1000000}") int maxTasks) {
+        this.maxTasks = maxTasks;
+    }
+
+    public void put(long id, String title, String description, long version) {
+        Set<String> titleTerms = Tokenizer.terms(title);
+        Set<String> descriptionTerms = Tokenizer.terms(description);
+
+        lock.writeLock().lock();
+        try {
+            int[] previous = tasks.get(id);
+            if (previous != null) {
+                if (version < tasks.version(id)) {
+                    return;
+                }
+                unindex(id, previous);
+            } else if (tasks.size() >= maxTasks) {
+                if (!capReached) {
+                    capReached = true;
+                    log.warn("Search index holds {} tasks, the task.search.max-indexed-tasks cap; newer tasks are not searchable", maxTasks);
+                }
+                return;
+            }
+            tasks.put(id, index(id, titleTerms, descriptionTerms), version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int[] previous = tasks.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            postings.clear();
+            freeTermIds.clear();
+            tasks.clear();
+            capReached = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tasks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> search(String query, int limit) {
+        List<Set<String>> groups = parse(query);
+
+        lock.readLock().lock();
+        try {
+            return rank(groups, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskSaved(TaskSavedEvent event) {
+        put(event.current());
+    }
+
+    @TransactionalEventListener
+    public void onTasksCreated(TasksCreatedEvent event) {
+        event.tasks().forEach(this::put);
+    }
+
+    @TransactionalEventListener
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        remove(event.id());
+    }
+
+    @TransactionalEventListener
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        event.ids().forEach(this::remove);
+    }
+
+    @TransactionalEventListener
+    public void onAllTasksDeleted(AllTasksDeletedEvent event) {
+        clear();
+    }
+
+    private void put(TaskResponseDTO task) {
+        put(task.id(), task.title(), task.description(), task.version());
+    }
+
+    private int[] index(long id, Set<String> titleTerms, Set<String> descriptionTerms) {
+        return IndexedTasks.encode(index(id, titleTerms, Postings.TITLE), index(id, descriptionTerms, Postings.DESCRIPTION));
+    }
+
+    private int[] index(long id, Set<String> fieldTerms, byte field) {
+        int[] ids = new int[fieldTerms.size()];
+        int i = 0;
+        for (String term : fieldTerms) {
+            int termId = termIds.computeIfAbsent(term, this::newTermId);
+            postings.get(termId).add(id, field);
+            ids[i++] = termId;
+        }
+        return ids;
+    }
+
+    private int newTermId(String term) {
+        Integer free = freeTermIds.poll();
+        if (free != null) {
+            terms.set(free, term);
+            postings.set(free, new Postings());
+            return free;
+        }
+        terms.add(term);
+        postings.add(new Postings());
+        return terms.size() - 1;
+    }
+
+    private void unindex(long id, int[] entry) {
+        for (int termId : IndexedTasks.titleTerms(entry)) {
+            unindex(termId, id, Postings.TITLE);
+        }
+        for (int termId : IndexedTasks.descriptionTerms(entry)) {
+            unindex(termId, id, Postings.DESCRIPTION);
+        }
+    }
+
+    private void unindex(int termId, long id, byte field) {
+        Postings list = postings.get(termId);
+        list.remove(id, field);
+        if (list.count() == 0) {
+            termIds.remove(terms.get(termId));
+            terms.set(termId, null);
+            postings.set(termId, null);
+            freeTermIds.push(termId);
+        }
+    }
+
+    private static List<Set<String>> parse(String query) {
+        List<Set<String>> groups = new ArrayList<>();
+        Set<String> group = new LinkedHashSet<>();
+        int termCount = 0;
+
+        for (String token : query.trim().split("\\s+")) {
+            if (token.equals("OR")) {
+                if (!group.isEmpty()) {
+                    groups.add(group);
+                }
+                group = new LinkedHashSet<>();
+            } else if (!token.equals("AND")) {
+                for (String term : Tokenizer.terms(token)) {
+                    if (termCount++ < MAX_QUERY_TERMS) {
+                        group.add(term);
+                    }
+                }
+            }
+        }
+
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    private List<Long> rank(List<Set<String>> groups, int limit) {
+        List<String> queryTerms = new ArrayList<>();
+        List<int[]> groupTerms = new ArrayList<>();
+
+        for (Set<String> group : groups) {
+            if (!group.stream().allMatch(termIds::containsKey)) {
+                continue;
+            }
+
+            int[] indexes = new int[group.size()];
+            int i = 0;
+            for (String term : group) {
+                int index = queryTerms.indexOf(term);
+                if (index < 0) {
+                    index = queryTerms.size();
+                    queryTerms.add(term);
+                }
+                indexes[i++] = index;
+            }
+            groupTerms.add(indexes);
+        }
+
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Postings[] lists = new Postings[queryTerms.size()];
+        double[] idf = new double[queryTerms.size()];
+        int[] cursors = new int[queryTerms.size()];
+        for (int i = 0; i < lists.length; ++i) {
+            lists[i] = postings.get(termIds.get(queryTerms.get(i)));
+            idf[i] = Math.log(1.0 + (double) tasks.size() / lists[i].count());
+        }
+
+        PriorityQueue<ScoredTask> top = new PriorityQueue<>(limit + 1);
+        boolean[] matched = new boolean[lists.length];
+
+        while (true) {
+            long current = nextCandidate(lists, cursors, groupTerms);
+            if (current == Long.MAX_VALUE) {
+                break;
+            }
+
+            double score = 0;
+            for (int i = 0; i < lists.length; ++i) {
+                matched[i] = false;
+                if (cursors[i] < lists[i].size() && lists[i].id(cursors[i]) == current) {
+                    byte fields = lists[i].fields(cursors[i]);
+                    matched[i] = fields != 0;
+                    score += idf[i] * (((fields & Postings.TITLE) != 0 ? TITLE_WEIGHT : 0) + ((fields & Postings.DESCRIPTION) != 0 ? DESCRIPTION_WEIGHT : 0));
+                    ++cursors[i];
+                }
+            }
+
+            if (satisfiesAnyGroup(groupTerms, matched)) {
+                top.add(new ScoredTask(current, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        Long[] ranked = new Long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; --i) {
+            ranked[i] = top.poll().id();
+        }
+        return List.of(ranked);
+    }
+
+    /**
+     * Returns the smallest id that could satisfy a group. With a single AND group the lists are leap-frogged to
+     * their common id, skipping every id that is missing from one of them.
+     */
+    private static long nextCandidate(Postings[] lists, int[] cursors, List<int[]> groupTerms) {
+        if (groupTerms.size() == 1) {
+            int[] group = groupTerms.get(0);
+            long target = Long.MIN_VALUE;
+            int agreeing = 0;
+
+            while (agreeing < group.length) {
+                for (int index : group) {
+                    cursors[index] = lists[index].advance(cursors[index], target);
+                    if (cursors[index] >= lists[index].size()) {
+                        return Long.MAX_VALUE;
+                    }
+
+                    long id = lists[index].id(cursors[index]);
+                    if (id == target) {
+                        ++agreeing;
+                    } else {
+                        target = id;
+                        agreeing = 1;
+                    }
+
+                    if (agreeing == group.length) {
+                        break;
+                    }
+                }
+            }
+            return target;
+        }
+
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < lists.length; ++i) {
+            if (cursors[i] < lists[i].size()) {
+                min = Math.min(min, lists[i].id(cursors[i]));
+            }
+        }
+        return min;
+    }
+
+    private static boolean satisfiesAnyGroup(List<int[]> groupTerms, boolean[] matched) {
+        for (int[] group : groupTerms) {
+            boolean all = true;
+            for (int index : group) {
+                all &= matched[index];
+            }
+            if (all) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record ScoredTask(long id, double score) implements Comparable<ScoredTask> {
+
+        @Override
+        public int compareTo(ScoredTask other) {
+            int byScore = Double.compare(score, other.score);
+            return (byScore != 0) ? byScore : Long.compare(other.id, id);
+        }
+    }
+}
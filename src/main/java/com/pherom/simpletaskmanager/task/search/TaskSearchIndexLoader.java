@@ -0,0 +1,84 @@
+package com.pherom.simpletaskmanager.task.search;
+
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.entity.Task;
+import com.pherom.simpletaskmanager.task.event.TasksPatchedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Component
+public class TaskSearchIndexLoader {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final JpaTaskRepository repository;
+    private final TaskSearchIndex index;
+    private final EntityManager entityManager;
+
+    public TaskSearchIndexLoader(JpaTaskRepository repository, TaskSearchIndex index, EntityManager entityManager) {
+        this.repository = repository;
+        this.index = index;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        index(repository.streamAll());
+    }
+
+    /**
+     * Re-indexes the tasks a bulk patch may have changed from their committed rows, which carry the versions the
+     * index needs to order them against other updates. Patches that only change {@code completed} leave the indexed
+     * text as it is.
+     */
+    @TransactionalEventListener
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void onTasksPatched(TasksPatchedEvent event) {
+        TaskBulkPatchRequestDTO request = event.request();
+        if (request.set().title() == null && request.set().description() == null) {
+            return;
+        }
+
+        Boolean completed = (request.set().completed() != null) ? request.set().completed()
+                : (request.filter() != null) ? request.filter().completed() : null;
+        index((request.ids() != null) ? repository.streamByIdIn(request.ids())
+                : (completed != null) ? repository.streamByCompleted(completed)
+                : repository.streamAll());
+    }
+
+    /**
+     * Rebuilds the index from the table once every task has been replaced in bulk.
+     */
+    @TransactionalEventListener
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void onTasksReplaced(TasksReplacedEvent event) {
+        index.clear();
+        load();
+    }
+
+    private void index(Stream<Task> rows) {
+        try (Stream<Task> tasks = rows) {
+            Iterator<Task> iterator = tasks.iterator();
+            int loaded = 0;
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
+                index.put(task.getId(), task.getTitle(), task.getDescription(), task.getVersion());
+
+                if (++loaded % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.pherom.simpletaskmanager.task.service;
+
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.entity.TaskRow;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.exception.TaskNotFoundException;
+import com.pherom.simpletaskmanager.task.repository.R2dbcTaskRepository;
+import com.pherom.simpletaskmanager.task.repository.ReactiveTaskIds;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * R2DBC counterpart of {@link TaskService} for the reactive profile. Every write runs in one reactive transaction and
+ * publishes the same {@link com.pherom.simpletaskmanager.task.event.TaskChangeEvent}s, bound to that transaction, so
+ * stats, the search index and the journal follow reactive writes once they commit.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+
+    private final R2dbcTaskRepository repository;
+    private final ReactiveTaskIds ids;
+    private final TaskWriteTracker writeTracker;
+    private final TransactionalOperator transactionalOperator;
+    private final TransactionalEventPublisher publisher;
+
+    public ReactiveTaskService(R2dbcTaskRepository repository, ReactiveTaskIds ids, TaskWriteTracker writeTracker, TransactionalOperator transactionalOperator,
+                               ApplicationEventPublisher publisher) {
+        this.repository = repository;
+        this.ids = ids;
+        this.writeTracker = writeTracker;
+        this.transactionalOperator = transactionalOperator;
+        this.publisher = new TransactionalEventPublisher(publisher);
+    }
+
+    public Mono<TaskResponseDTO> save(Long id, TaskRequestDTO task, Long expectedVersion) {
+        return tracked(write(id, task, expectedVersion));
+    }
+
+    private Mono<TaskResponseDTO> write(Long id, TaskRequestDTO task, Long expectedVersion) {
+        if (id == null) {
+            return ids.next()
+                    .map(nextId -> new TaskRow(nextId, task.title(), task.description(), Boolean.TRUE.equals(task.completed())))
+                    .flatMap(repository::save)
+                    .map(ReactiveTaskService::toDTO)
+                    .flatMap(created -> publisher.publishEvent(new TaskSavedEvent(null, created)).thenReturn(created));
+        }
+
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)))
+                .flatMap(existing -> {
+                    if (expectedVersion != null && !Objects.equals(expectedVersion, existing.getVersion())) {
+                        return Mono.error(new VersionMismatchException(expectedVersion, existing.getVersion()));
+                    }
+                    TaskResponseDTO previous = toDTO(existing);
+
+                    if (task.title() != null) {
+                        existing.setTitle(task.title());
+                    }
+                    if (task.description() != null) {
+                        existing.setDescription(task.description());
+                    }
+                    if (task.completed() != null) {
+                        existing.setCompleted(task.completed());
+                    }
+                    return repository.save(existing)
+                            .map(ReactiveTaskService::toDTO)
+                            .flatMap(updated -> publisher.publishEvent(new TaskSavedEvent(previous, updated)).thenReturn(updated));
+                })
+                .onErrorMap(OptimisticLockingFailureException.class,
+                        ex -> (expectedVersion != null) ? new VersionMismatchException(expectedVersion) : ex);
+    }
+
+    public Mono<TaskResponseDTO> findById(long id) {
+        return repository.findById(id).map(ReactiveTaskService::toDTO);
+    }
+
+    public Mono<Long> findVersionById(long id) {
+        return repository.findVersionById(id);
+    }
+
+    public Mono<CursorPage<TaskResponseDTO>> findPage(TaskFilterDTO filter, String after, int limit) {
+        return Mono.defer(() -> {
+            int pageSize = CursorPage.clampLimit(limit);
+            long afterId = Cursors.decode(after);
+            Flux<TaskRow> rows = (filter == null || filter.completed() == null)
+                    ? repository.findPage(afterId, pageSize + 1)
+                    : repository.findPageByCompleted(filter.completed(), afterId, pageSize + 1);
+            return rows.collectList().map(list -> CursorPage.of(list, pageSize, ReactiveTaskService::toDTO, TaskResponseDTO::id));
+        });
+    }
+
+    public Flux<TaskResponseDTO> streamAll() {
+        return repository.streamAll().map(ReactiveTaskService::toDTO);
+    }
+
+    public Mono<Void> deleteById(long id) {
+        return tracked(repository.removeByIdReturningCompleted(id)
+                .switchIfEmpty(Mono.error(() -> new TaskNotFoundException(id)))
+                .flatMap(completed -> repository.recordDelete(id).then(publisher.publishEvent(new TaskDeletedEvent(id, completed)))));
+    }
+
+    public Mono<Void> deleteAll() {
+        return tracked(repository.deleteAll()
+                .then(repository.markReset())
+                .then(repository.removeAllTombstones())
+                .then(publisher.publishEvent(new AllTasksDeletedEvent())));
+    }
+
+    /**
+     * Runs {@code write} in one transaction and holds a {@link TaskWriteTracker} ticket until it has committed or
+     * rolled back, so delta reads wait for it.
+     */
+    private <T> Mono<T> tracked(Mono<T> write) {
+        return Mono.using(writeTracker::begin, ticket -> write.as(transactionalOperator::transactional), writeTracker::end);
+    }
+
+    private static TaskResponseDTO toDTO(TaskRow row) {
+        return new TaskResponseDTO(row.getId(), row.getTitle(), row.getDescription(), row.isCompleted(), row.getVersion());
+    }
+}
@@ -0,0 +1,55 @@
+package com.pherom.simpletaskmanager.task.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pherom.simpletaskmanager.task.entity.Task;
+import com.pherom.simpletaskmanager.task.mapper.TaskMapper;
+import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class TaskExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+
+    private final JpaTaskRepository repository;
+    private final TaskMapper mapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TaskExportService(JpaTaskRepository repository, TaskMapper mapper, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void exportAll(OutputStream out) throws IOException {
+        try (Stream<Task> tasks = repository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Task> iterator = tasks.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                generator.writeObject(mapper.toDTO(iterator.next()));
+                generator.writeRaw('\n');
+
+                if (++written % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+    }
+
+}
@@ -1,68 +1,335 @@
 package com.pherom.simpletaskmanager.task.service;
 
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
+import com.pherom.simpletaskmanager.task.cache.TaskCache;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskCacheStatsDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskDeltaDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskPatchDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskStatsDTO;
 import com.pherom.simpletaskmanager.task.entity.Task;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksCreatedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksPatchedEvent;
 import com.pherom.simpletaskmanager.task.exception.TaskNotFoundException;
 import com.pherom.simpletaskmanager.task.mapper.TaskMapper;
 import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository;
+import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository.RemovedTask;
+import com.pherom.simpletaskmanager.task.repository.TaskSyncRepository;
+import com.pherom.simpletaskmanager.task.search.TaskSearchIndex;
+import com.pherom.simpletaskmanager.task.stats.TaskStats;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "task.service", histogram = true)
 public class TaskService {
 
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final int TITLE_COLUMN_LENGTH = 255;
+
     private final JpaTaskRepository repository;
+    private final TaskSyncRepository syncRepository;
     private final TaskMapper mapper;
+    private final EntityManager entityManager;
+    private final TaskCache cache;
+    private final TaskSearchIndex searchIndex;
+    private final TaskStats stats;
+    private final TaskWriteTracker writeTracker;
+    private final ApplicationEventPublisher publisher;
+    private final Duration deltaMaxWait;
 
-    public TaskService(JpaTaskRepository repository, TaskMapper mapper) {
+    public TaskService(JpaTaskRepository repository, TaskSyncRepository syncRepository, TaskMapper mapper, EntityManager entityManager,
+                       TaskCache cache, TaskSearchIndex searchIndex, TaskStats stats, TaskWriteTracker writeTracker,
+                       ApplicationEventPublisher publisher, @Value("${task.delta.max-wait:5s}") Duration deltaMaxWait) {
         this.repository = repository;
+        this.syncRepository = syncRepository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.cache = cache;
+        this.searchIndex = searchIndex;
+        this.stats = stats;
+        this.writeTracker = writeTracker;
+        this.publisher = publisher;
+        this.deltaMaxWait = deltaMaxWait;
     }
 
     @Transactional
     public TaskResponseDTO save(Long id, TaskRequestDTO task) {
-        Task saveMe = (id == null)
-                ? mapper.toTask(task)
-                : repository.findById(id).map(existing -> {
-                    if (task.title() != null) {
-                        existing.setTitle(task.title());
-                    }
-                    if (task.description() != null) {
-                        existing.setDescription(task.description());
-                    }
-                    if (task.completed() != null) {
-                        existing.setCompleted(task.completed());
-                    }
-                    return existing;
-        }).orElseThrow(() -> new TaskNotFoundException(id));
-
-        return mapper.toDTO(repository.save(saveMe));
+        return save(id, task, null);
+    }
+
+    @Transactional
+    public TaskResponseDTO save(Long id, TaskRequestDTO task, Long expectedVersion) {
+        writeTracker.enlist();
+        if (id == null) {
+            TaskResponseDTO created = mapper.toDTO(repository.save(mapper.toTask(task)));
+            publisher.publishEvent(new TaskSavedEvent(null, created));
+            return created;
+        }
+
+        Task existing = repository.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
+        if (expectedVersion != null && existing.getVersion() != expectedVersion) {
+            throw new VersionMismatchException(expectedVersion, existing.getVersion());
+        }
+        TaskResponseDTO previous = mapper.toDTO(existing);
+
+        if (task.title() != null) {
+            existing.setTitle(task.title());
+        }
+        if (task.description() != null) {
+            existing.setDescription(task.description());
+        }
+        if (task.completed() != null) {
+            existing.setCompleted(task.completed());
+        }
+
+        Task saved;
+        try {
+            saved = repository.saveAndFlush(existing);
+        } catch (OptimisticLockingFailureException ex) {
+            if (expectedVersion != null) {
+                throw new VersionMismatchException(expectedVersion);
+            }
+            throw ex;
+        }
+
+        TaskResponseDTO updated = mapper.toDTO(saved);
+        publisher.publishEvent(new TaskSavedEvent(previous, updated));
+        return updated;
+    }
+
+    @Transactional
+    public List<TaskResponseDTO> saveAll(List<TaskRequestDTO> tasks) {
+        writeTracker.enlist();
+        List<TaskResponseDTO> saved = new ArrayList<>(tasks.size());
+
+        for (int from = 0; from < tasks.size(); from += FLUSH_INTERVAL) {
+            List<Task> chunk = tasks.subList(from, Math.min(from + FLUSH_INTERVAL, tasks.size())).stream()
+                    .map(mapper::toTask)
+                    .toList();
+
+            repository.saveAll(chunk).forEach(task -> saved.add(mapper.toDTO(task)));
+            repository.flush();
+            entityManager.clear();
+        }
+
+        publisher.publishEvent(new TasksCreatedEvent(saved));
+        return saved;
+    }
+
+    /**
+     * Patches the tasks named by ids or filter with set-based UPDATEs that load no rows. When the patch sets
+     * {@code completed} without filtering on it, open and completed tasks are updated by separate statements, so the
+     * change in completed tasks comes from the update counts rather than from a count taken beside them. Tasks
+     * already in the target state go first, so the second statement cannot match the tasks the first one flipped.
+     */
+    @Transactional
+    public int patchAll(TaskBulkPatchRequestDTO request) {
+        TaskPatchDTO set = request.set();
+        if (request.ids() != null && request.ids().isEmpty()) {
+            return 0;
+        }
+        writeTracker.enlist();
+
+        Boolean target = set.completed();
+        Boolean filterCompleted = (request.ids() == null) ? request.filter().completed() : null;
+        List<Boolean> states = (target != null && filterCompleted == null) ? List.of(target, !target) : Collections.singletonList(filterCompleted);
+
+        int affected = 0;
+        long completedDelta = 0;
+        for (Boolean state : states) {
+            int patched = (request.ids() != null)
+                    ? repository.patchByIdIn(request.ids(), state, set.title(), set.description(), target)
+                    : repository.patchByCompleted(state, set.title(), set.description(), target);
+            affected += patched;
+            if (target != null && state != null && !state.equals(target)) {
+                completedDelta += target ? patched : -patched;
+            }
+        }
+
+        if (affected > 0) {
+            publisher.publishEvent(new TasksPatchedEvent(request, affected, completedDelta));
+        }
+        return affected;
     }
 
     public Optional<TaskResponseDTO> findById(long id) {
-        return repository.findById(id).map(mapper::toDTO);
+        return cache.get(id, key -> repository.findById(key).map(mapper::toDTO));
+    }
+
+    /**
+     * Reads the task from the database, bypassing the cache, and refreshes the cached copy with it.
+     */
+    public Optional<TaskResponseDTO> reloadById(long id) {
+        Optional<TaskResponseDTO> task = repository.findById(id).map(mapper::toDTO);
+        task.ifPresentOrElse(cache::merge, () -> cache.invalidate(id));
+        return task;
+    }
+
+    public Optional<Long> findVersionById(long id) {
+        return repository.findVersionById(id);
     }
 
     public List<TaskResponseDTO> findAll() {
         return repository.findAll().stream().map(mapper::toDTO).toList();
     }
 
+    public CursorPage<TaskResponseDTO> findPage(TaskFilterDTO filter, String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long afterId = Cursors.decode(after);
+        List<Task> rows = (filter == null || filter.completed() == null)
+                ? repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1))
+                : repository.findByCompletedAndIdGreaterThanOrderByIdAsc(filter.completed(), afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, mapper::toDTO, TaskResponseDTO::id);
+    }
+
+    /**
+     * Returns up to {@code limit} task changes and deletions after {@code token}, merged in modification order.
+     * <p>
+     * Sequences are drawn when a row is written, so a write still in flight may commit with a lower sequence than
+     * one already committed. The delta is therefore bounded by the next sequence value seen when it starts, and is
+     * only read once every write that could have drawn a sequence below that bound has completed. If those writes
+     * do not finish within {@code task.delta.max-wait}, nothing is returned and {@code hasMore} asks the client to
+     * retry with the same token.
+     */
+    public TaskDeltaDTO findChangesSince(String token, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        long since = Cursors.decode(token);
+        long bound = syncRepository.findState().nextSeq();
+        if (!writeTracker.awaitEarlierWrites(deltaMaxWait)) {
+            return new TaskDeltaDTO(List.of(), List.of(), false, true, Cursors.encode(since));
+        }
+
+        TaskSyncRepository.SyncState state = syncRepository.findState();
+        boolean reset = since == Cursors.START || since < state.resetSeq() || since >= bound;
+        long from = reset ? state.resetSeq() : since;
+
+        List<Task> changedRows = repository.findByModSeqGreaterThanAndModSeqLessThanOrderByModSeqAsc(from, bound, Limit.of(pageSize + 1));
+        List<TaskSyncRepository.Tombstone> tombstones = syncRepository.findTombstonesBetween(from, bound, pageSize + 1);
+
+        List<TaskResponseDTO> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long last = from;
+        int nextChanged = 0;
+        int nextDeleted = 0;
+        while (changed.size() + deleted.size() < pageSize && (nextChanged < changedRows.size() || nextDeleted < tombstones.size())) {
+            boolean takeChanged = nextDeleted == tombstones.size()
+                    || (nextChanged < changedRows.size() && changedRows.get(nextChanged).getModSeq() < tombstones.get(nextDeleted).modSeq());
+            if (takeChanged) {
+                Task task = changedRows.get(nextChanged++);
+                changed.add(mapper.toDTO(task));
+                last = task.getModSeq();
+            } else {
+                TaskSyncRepository.Tombstone tombstone = tombstones.get(nextDeleted++);
+                deleted.add(tombstone.id());
+                last = tombstone.modSeq();
+            }
+        }
+
+        boolean hasMore = nextChanged < changedRows.size() || nextDeleted < tombstones.size();
+        return new TaskDeltaDTO(changed, deleted, reset, hasMore, Cursors.encode(hasMore ? last : Math.max(from, bound - 1)));
+    }
+
     @Transactional
     public void deleteById(long id) {
-        repository.delete(repository.findById(id).orElseThrow(() -> new TaskNotFoundException(id)));
+        writeTracker.enlist();
+        List<RemovedTask> removed = repository.removeByIdInReturning(List.of(id));
+        if (removed.isEmpty()) {
+            throw new TaskNotFoundException(id);
+        }
+        syncRepository.recordDeletes(List.of(id));
+        publisher.publishEvent(new TaskDeletedEvent(id, removed.get(0).isCompleted()));
+    }
+
+    @Transactional
+    public int deleteAllById(Collection<Long> ids) {
+        writeTracker.enlist();
+        List<RemovedTask> removed = ids.isEmpty() ? List.of() : repository.removeByIdInReturning(ids);
+        if (!removed.isEmpty()) {
+            List<Long> deleted = removed.stream().map(RemovedTask::getId).toList();
+            syncRepository.recordDeletes(deleted);
+            int completed = (int) removed.stream().filter(RemovedTask::isCompleted).count();
+            publisher.publishEvent(new TasksDeletedEvent(deleted, removed.size(), completed));
+        }
+        return removed.size();
     }
 
     @Transactional
     public void deleteAll() {
-        repository.deleteAll();
+        writeTracker.enlist();
+        repository.deleteAllInBatch();
+        syncRepository.reset();
+        publisher.publishEvent(new AllTasksDeletedEvent());
+    }
+
+    public TaskCacheStatsDTO cacheStats() {
+        return cache.stats();
+    }
+
+    public TaskStatsDTO stats() {
+        return stats.snapshot();
     }
 
     public Optional<TaskResponseDTO> findByTitle(String title) {
-        return repository.findByTitle(title).map(mapper::toDTO);
+        return repository.findFirstByTitleOrderByIdAsc(title).map(mapper::toDTO);
+    }
+
+    public List<TaskResponseDTO> findByTitlePrefix(String prefix, int limit) {
+        return repository.findByTitleRange(prefix, prefixUpperBound(prefix), Limit.of(CursorPage.clampLimit(limit))).stream()
+                .map(mapper::toDTO)
+                .toList();
+    }
+
+    public List<TaskResponseDTO> search(String query, int limit) {
+        List<Long> ranked = searchIndex.search(query, CursorPage.clampLimit(limit));
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Task> found = repository.findAllById(ranked).stream().collect(Collectors.toMap(Task::getId, Function.identity()));
+        return ranked.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toDTO)
+                .toList();
+    }
+
+    private static String prefixUpperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0 && prefix.charAt(end - 1) == Character.MAX_VALUE) {
+            --end;
+        }
+
+        if (end == 0) {
+            return String.valueOf(Character.MAX_VALUE).repeat(prefix.length() + TITLE_COLUMN_LENGTH);
+        }
+        return prefix.substring(0, end - 1) + (char) (prefix.charAt(end - 1) + 1);
     }
 
 }
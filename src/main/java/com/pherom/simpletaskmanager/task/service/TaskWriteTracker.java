@@ -0,0 +1,67 @@
+package com.pherom.simpletaskmanager.task.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tracks task writes that may still commit, so delta reads can wait for them. {@code mod_seq} values are drawn when
+ * a row is written, not when its transaction commits, so a reader that only looked at committed rows could hand
+ * out a token past a value that a writer still in flight commits later. Every write that draws {@code mod_seq}
+ * values takes a ticket before its first statement and returns it once its transaction has completed.
+ */
+@Component
+public class TaskWriteTracker {
+
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong tickets = new AtomicLong();
+    private final ConcurrentSkipListSet<Long> active = new ConcurrentSkipListSet<>();
+
+    /**
+     * Takes a ticket for the current transaction and returns it after the transaction commits or rolls back.
+     */
+    public void enlist() {
+        long ticket = begin();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                end(ticket);
+            }
+        });
+    }
+
+    public long begin() {
+        long ticket = tickets.incrementAndGet();
+        active.add(ticket);
+        return ticket;
+    }
+
+    public void end(long ticket) {
+        active.remove(ticket);
+    }
+
+    /**
+     * Waits until every write that took its ticket before this call has completed. Writes that start later are not
+     * waited for, so a steady stream of writers cannot starve the caller.
+     *
+     * @return {@code false} if some of those writes were still running after {@code maxWait}
+     */
+    public boolean awaitEarlierWrites(Duration maxWait) {
+        long horizon = tickets.get();
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        for (Long oldest = active.ceiling(0L); oldest != null && oldest <= horizon; oldest = active.ceiling(0L)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,132 @@
+package com.pherom.simpletaskmanager.task.stats;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskStatsDTO;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksCreatedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksPatchedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Task counts kept in memory and moved by committed changes only. Counters can still drift when concurrent
+ * writers race, so {@link TaskStatsReconciler} periodically resets them from the table, and right after the tasks
+ * have been replaced in bulk.
+ * <p>
+ * Changes are applied under the shared side of a read-write lock and bump a change count, while resets take the
+ * exclusive side. A reconciliation reads the change count before counting the table and only resets if no change
+ * has been applied since, so a change landing between the count and the reset is never overwritten.
+ */
+@Component
+public class TaskStats {
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TaskStatsDTO snapshot() {
+        lock.readLock().lock();
+        try {
+            long totalCount = total.sum();
+            long completedCount = completed.sum();
+            return new TaskStatsDTO(totalCount, completedCount, totalCount - completedCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of changes applied so far, to be passed to {@link #reset(long, long, long)} with counts read afterwards.
+     */
+    public long changes() {
+        return changes.sum();
+    }
+
+    public void reset(long totalCount, long completedCount) {
+        lock.writeLock().lock();
+        try {
+            set(totalCount, completedCount);
+            changes.increment();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Resets the counters unless a change has been applied since {@link #changes()} returned {@code expectedChanges}.
+     *
+     * @return {@code false} if the counts are stale and were not applied
+     */
+    public boolean reset(long totalCount, long completedCount, long expectedChanges) {
+        lock.writeLock().lock();
+        try {
+            if (changes.sum() != expectedChanges) {
+                return false;
+            }
+            set(totalCount, completedCount);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskSaved(TaskSavedEvent event) {
+        if (event.created()) {
+            apply(1, event.current().completed() ? 1 : 0);
+        } else if (event.previous().completed() != event.current().completed()) {
+            apply(0, event.current().completed() ? 1 : -1);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTasksCreated(TasksCreatedEvent event) {
+        apply(event.tasks().size(), event.tasks().stream().filter(TaskResponseDTO::completed).count());
+    }
+
+    @TransactionalEventListener
+    public void onTasksPatched(TasksPatchedEvent event) {
+        apply(0, event.completedDelta());
+    }
+
+    @TransactionalEventListener
+    public void onTaskDeleted(TaskDeletedEvent event) {
+        apply(-1, event.completed() ? -1 : 0);
+    }
+
+    @TransactionalEventListener
+    public void onTasksDeleted(TasksDeletedEvent event) {
+        apply(-event.affected(), -event.completed());
+    }
+
+    @TransactionalEventListener
+    public void onAllTasksDeleted(AllTasksDeletedEvent event) {
+        reset(0, 0);
+    }
+
+    private void apply(long totalDelta, long completedDelta) {
+        lock.readLock().lock();
+        try {
+            total.add(totalDelta);
+            completed.add(completedDelta);
+            changes.increment();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void set(long totalCount, long completedCount) {
+        total.reset();
+        total.add(totalCount);
+        completed.reset();
+        completed.add(completedCount);
+    }
+}
@@ -0,0 +1,43 @@
+package com.pherom.simpletaskmanager.task.stats;
+
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class TaskStatsReconciler {
+
+    private static final int ATTEMPTS = 3;
+
+    private final JpaTaskRepository repository;
+    private final TaskStats stats;
+
+    public TaskStatsReconciler(JpaTaskRepository repository, TaskStats stats) {
+        this.repository = repository;
+        this.stats = stats;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${task.stats.reconcile-interval:PT5M}", fixedDelayString = "${task.stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < ATTEMPTS; ++attempt) {
+            long changes = stats.changes();
+            if (stats.reset(repository.count(), repository.countByCompleted(true), changes)) {
+                return;
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void onTasksReplaced(TasksReplacedEvent event) {
+        reconcile();
+    }
+
+}
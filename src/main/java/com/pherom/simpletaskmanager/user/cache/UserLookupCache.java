@@ -0,0 +1,110 @@
+package com.pherom.simpletaskmanager.user.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pherom.simpletaskmanager.cache.CacheLoading;
+import com.pherom.simpletaskmanager.user.dto.UserIdentity;
+import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
+import com.pherom.simpletaskmanager.user.event.AllUsersDeletedEvent;
+import com.pherom.simpletaskmanager.user.event.UserDeletedEvent;
+import com.pherom.simpletaskmanager.user.event.UserUpdatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Username lookup cache backed by Bloom filters of every username and email ever written. The filters only
+ * answer "definitely absent" once they have been loaded from the database; until then every check falls
+ * through to the repository. Usernames and emails are recorded before the row is written, so the filters
+ * never miss a committed value.
+ * <p>
+ * After-commit listeners of concurrent updates may run out of order, so an updated user is only cached when no
+ * higher version of it is cached already, under its new or any other username.
+ */
+@Component
+public class UserLookupCache {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final AsyncCache<String, UserResponseDTO> byUsername;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private volatile boolean loaded;
+
+    public UserLookupCache(@Value("${user.cache.maximum-size:10000}") long maximumSize,
+                           @Value("${user.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                           @Value("${user.cache.expected-users:100000}") long expectedUsers,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(CacheLoading.executor(virtualThreads))
+                .recordStats()
+                .buildAsync();
+        this.usernames = new BloomFilter(expectedUsers, FALSE_POSITIVE_RATE);
+        this.emails = new BloomFilter(expectedUsers, FALSE_POSITIVE_RATE);
+    }
+
+    public Optional<UserResponseDTO> getByUsername(String username, Function<String, Optional<UserResponseDTO>> loader) {
+        if (!mightContainUsername(username)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(CacheLoading.join(byUsername.get(username, key -> loader.apply(key).orElse(null))));
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !loaded || usernames.mightContain(username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !loaded || emails.mightContain(email);
+    }
+
+    public void record(String username, String email) {
+        if (username != null) {
+            usernames.put(username);
+        }
+        if (email != null) {
+            emails.put(email);
+        }
+    }
+
+    public void evict(String username) {
+        byUsername.synchronous().invalidate(username);
+    }
+
+    public void load(Stream<UserIdentity> identities) {
+        identities.forEach(identity -> record(identity.username(), identity.email()));
+        loaded = true;
+    }
+
+    @TransactionalEventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        UserResponseDTO current = event.current();
+        ConcurrentMap<String, UserResponseDTO> cached = byUsername.synchronous().asMap();
+        if (cached.values().stream().anyMatch(user -> user.id() == current.id() && user.version() > current.version())) {
+            return;
+        }
+
+        cached.remove(event.previousUsername());
+        cached.merge(current.username(), current,
+                (previous, updated) -> (previous.id() != updated.id() || updated.version() > previous.version()) ? updated : previous);
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        byUsername.asMap().values().removeIf(CacheLoading.loadedMatching(user -> user.id() == event.id()));
+    }
+
+    @TransactionalEventListener
+    public void onAllUsersDeleted(AllUsersDeletedEvent event) {
+        byUsername.synchronous().invalidateAll();
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.pherom.simpletaskmanager.user.cache;
+
+import com.pherom.simpletaskmanager.user.dto.UserIdentity;
+import com.pherom.simpletaskmanager.user.repository.JpaUserRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+@Component
+public class UserLookupCacheLoader {
+
+    private final JpaUserRepository repository;
+    private final UserLookupCache lookupCache;
+
+    public UserLookupCacheLoader(JpaUserRepository repository, UserLookupCache lookupCache) {
+        this.repository = repository;
+        this.lookupCache = lookupCache;
+    }
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try (Stream<UserIdentity> identities = repository.streamIdentities()) {
+            lookupCache.load(identities);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.pherom.simpletaskmanager.user.cache;
+
+import com.pherom.simpletaskmanager.user.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+public class UserLookupEntityListener {
+
+    private final UserLookupCache lookupCache;
+
+    public UserLookupEntityListener(UserLookupCache lookupCache) {
+        this.lookupCache = lookupCache;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void record(User user) {
+        lookupCache.record(user.getUsername(), user.getEmail());
+    }
+
+    @PostRemove
+    public void evict(User user) {
+        lookupCache.evict(user.getUsername());
+    }
+
+}
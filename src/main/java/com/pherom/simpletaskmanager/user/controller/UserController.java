@@ -1,16 +1,23 @@
 package com.pherom.simpletaskmanager.user.controller;
 
+import com.pherom.simpletaskmanager.pagination.CursorPage;
 import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
 import com.pherom.simpletaskmanager.user.dto.UserUpdateRequestDTO;
 import com.pherom.simpletaskmanager.user.service.UserService;
+import com.pherom.simpletaskmanager.versioning.ETags;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/users")
 public class UserController {
 
@@ -21,20 +28,30 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserResponseDTO> getAllUsers() {
-        return service.findAll();
+    public ResponseEntity<List<UserResponseDTO>> getAllUsers(@RequestParam(required = false) String after, @RequestParam(defaultValue = "50") int limit) {
+        return service.findPage(after, limit).toResponseEntity();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable long id) {
+    public ResponseEntity<UserResponseDTO> getUserById(@PathVariable long id, WebRequest request) {
+        Optional<Long> version = service.findVersionById(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (request.checkNotModified(ETags.of(version.get()))) {
+            return null;
+        }
+
         return service.findById(id)
-                .map(ResponseEntity::ok)
+                .map(user -> ResponseEntity.ok().eTag(ETags.of(user.version())).body(user))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<UserResponseDTO> updateUserByID(@PathVariable long id, @Valid @RequestBody UserUpdateRequestDTO request) {
-        return ResponseEntity.ok(service.updateById(id, request));
+    public ResponseEntity<UserResponseDTO> updateUserByID(@PathVariable long id, @Valid @RequestBody UserUpdateRequestDTO request,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        UserResponseDTO result = service.updateById(id, request, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(result.version())).body(result);
     }
 
     @GetMapping("/by-username/{username}")
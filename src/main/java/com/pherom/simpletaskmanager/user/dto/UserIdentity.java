@@ -0,0 +1,3 @@
+package com.pherom.simpletaskmanager.user.dto;
+
+public record UserIdentity(String username, String email) {}
@@ -1,3 +1,10 @@
 package com.pherom.simpletaskmanager.user.dto;
 
-public record UserResponseDTO(long id, String username, String email) {}
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+public record UserResponseDTO(long id, String username, String email, @JsonIgnore long version) {
+
+    public UserResponseDTO(long id, String username, String email) {
+        this(id, username, email, 0);
+    }
+}
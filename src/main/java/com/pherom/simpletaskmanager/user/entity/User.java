@@ -1,10 +1,12 @@
 package com.pherom.simpletaskmanager.user.entity;
 
+import com.pherom.simpletaskmanager.user.cache.UserLookupEntityListener;
 import jakarta.persistence.*;
 
 import java.util.Objects;
 
 @Entity
+@EntityListeners(UserLookupEntityListener.class)
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(name = "uk_user_username", columnNames = {"username"}),
         @UniqueConstraint(name = "uk_user_email", columnNames = {"email"})
@@ -18,6 +20,9 @@ public class User {
     private String password;
     private String email;
 
+    @Version
+    private long version;
+
     public User(String username, String password, String email) {
         this.username = username;
         this.password = password;
@@ -62,6 +67,10 @@ public class User {
         this.email = email;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
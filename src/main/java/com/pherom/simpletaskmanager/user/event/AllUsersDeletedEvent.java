@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.user.event;
+
+public record AllUsersDeletedEvent() implements UserChangeEvent {
+}
@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.user.event;
+
+public sealed interface UserChangeEvent permits UserUpdatedEvent, UserDeletedEvent, AllUsersDeletedEvent {
+}
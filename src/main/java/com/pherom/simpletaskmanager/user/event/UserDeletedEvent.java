@@ -0,0 +1,4 @@
+package com.pherom.simpletaskmanager.user.event;
+
+public record UserDeletedEvent(long id) implements UserChangeEvent {
+}
@@ -0,0 +1,6 @@
+package com.pherom.simpletaskmanager.user.event;
+
+import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
+
+public record UserUpdatedEvent(String previousUsername, UserResponseDTO current) implements UserChangeEvent {
+}
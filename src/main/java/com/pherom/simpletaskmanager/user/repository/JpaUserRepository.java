@@ -1,14 +1,32 @@
 package com.pherom.simpletaskmanager.user.repository;
 
+import com.pherom.simpletaskmanager.user.dto.UserIdentity;
 import com.pherom.simpletaskmanager.user.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface JpaUserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    List<User> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    @Query("select new com.pherom.simpletaskmanager.user.dto.UserIdentity(u.username, u.email) from User u")
+    Stream<UserIdentity> streamIdentities();
+
+    @Modifying
+    @Query("delete from User u where u.id = :id")
+    int removeById(@Param("id") long id);
 }
@@ -1,82 +1,133 @@
 package com.pherom.simpletaskmanager.user.service;
 
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
+import com.pherom.simpletaskmanager.user.cache.UserLookupCache;
 import com.pherom.simpletaskmanager.user.dto.UserUpdateRequestDTO;
 import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
 import com.pherom.simpletaskmanager.user.entity.User;
+import com.pherom.simpletaskmanager.user.event.AllUsersDeletedEvent;
+import com.pherom.simpletaskmanager.user.event.UserDeletedEvent;
+import com.pherom.simpletaskmanager.user.event.UserUpdatedEvent;
 import com.pherom.simpletaskmanager.user.exception.EmailAlreadyExistsException;
 import com.pherom.simpletaskmanager.user.exception.UserNotFoundException;
 import com.pherom.simpletaskmanager.user.exception.UsernameAlreadyExistsException;
 import com.pherom.simpletaskmanager.user.mapper.UserMapper;
 import com.pherom.simpletaskmanager.user.repository.JpaUserRepository;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Timed(value = "user.service", histogram = true)
 public class UserService {
 
     private final JpaUserRepository repository;
     private final UserMapper mapper;
+    private final UserLookupCache lookupCache;
+    private final ApplicationEventPublisher publisher;
 
-    public UserService(JpaUserRepository repository, UserMapper mapper) {
+    public UserService(JpaUserRepository repository, UserMapper mapper, UserLookupCache lookupCache, ApplicationEventPublisher publisher) {
         this.repository = repository;
         this.mapper = mapper;
+        this.lookupCache = lookupCache;
+        this.publisher = publisher;
     }
 
     @Transactional
     public UserResponseDTO updateById(long id, UserUpdateRequestDTO request) {
+        return updateById(id, request, null);
+    }
+
+    @Transactional
+    public UserResponseDTO updateById(long id, UserUpdateRequestDTO request, Long expectedVersion) {
         Optional<User> found = repository.findById(id);
 
         if (found.isEmpty()) {
             throw new UserNotFoundException(id);
         }
+        if (expectedVersion != null && found.get().getVersion() != expectedVersion) {
+            throw new VersionMismatchException(expectedVersion, found.get().getVersion());
+        }
+
+        String previousUsername = found.get().getUsername();
+        User saved;
+        try {
+            saved = updateUser(found.get(), request);
+        } catch (OptimisticLockingFailureException ex) {
+            if (expectedVersion != null) {
+                throw new VersionMismatchException(expectedVersion);
+            }
+            throw ex;
+        }
 
-        return mapper.toDTO(updateUser(found.get(), request));
+        UserResponseDTO updated = mapper.toDTO(saved);
+        publisher.publishEvent(new UserUpdatedEvent(previousUsername, updated));
+        return updated;
     }
 
     public Optional<UserResponseDTO> findById(long id) {
         return repository.findById(id).map(mapper::toDTO);
     }
 
+    public Optional<Long> findVersionById(long id) {
+        return repository.findVersionById(id);
+    }
+
     public List<UserResponseDTO> findAll() {
         return repository.findAll().stream().map(mapper::toDTO).toList();
     }
 
+    public CursorPage<UserResponseDTO> findPage(String after, int limit) {
+        int pageSize = CursorPage.clampLimit(limit);
+        List<User> rows = repository.findByIdGreaterThanOrderByIdAsc(Cursors.decode(after), Limit.of(pageSize + 1));
+        return CursorPage.of(rows, pageSize, mapper::toDTO, UserResponseDTO::id);
+    }
+
     public Optional<UserResponseDTO> findByUsername(String username) {
-        return repository.findByUsername(username).map(mapper::toDTO);
+        return lookupCache.getByUsername(username, key -> repository.findByUsername(key).map(mapper::toDTO));
     }
 
     @Transactional
     public void deleteById(long id) {
-        repository.delete(repository.findById(id).orElseThrow(() -> new UserNotFoundException(id)));
+        if (repository.removeById(id) == 0) {
+            throw new UserNotFoundException(id);
+        }
+        publisher.publishEvent(new UserDeletedEvent(id));
     }
 
     @Transactional
     public void deleteAll() {
-        repository.deleteAll();
+        repository.deleteAllInBatch();
+        publisher.publishEvent(new AllUsersDeletedEvent());
     }
 
     private User updateUser(User user, UserUpdateRequestDTO request) {
         if (request.username() != null) {
-            if (repository.existsByUsername(request.username())) {
+            if (lookupCache.mightContainUsername(request.username()) && repository.existsByUsername(request.username())) {
                 throw new UsernameAlreadyExistsException(request.username());
             }
             user.setUsername(request.username());
         }
 
         if (request.email() != null) {
-            if (repository.existsByEmail(request.email())) {
+            if (lookupCache.mightContainEmail(request.email()) && repository.existsByEmail(request.email())) {
                 throw new EmailAlreadyExistsException(request.email());
             }
             user.setEmail(request.email());
         }
 
         try {
-            return repository.save(user);
+            return repository.saveAndFlush(user);
         } catch (DataIntegrityViolationException ex) {
             String msg = ex.getMostSpecificCause().getMessage();
             if (StringUtils.containsIgnoreCase(msg, "username")) {
@@ -0,0 +1,39 @@
+package com.pherom.simpletaskmanager.versioning;
+
+import org.springframework.http.ETag;
+
+import java.util.List;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long version) {
+        return ETag.quoteETagIfNecessary(String.valueOf(version));
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or null when the header is absent or {@code *}.
+     * Weak, non-numeric or multiple tags can never name the single current version and fail the precondition.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() == 1 && tags.get(0).isWildcard()) {
+            return null;
+        }
+        if (tags.size() != 1 || tags.get(0).weak()) {
+            throw new VersionMismatchException(ifMatch);
+        }
+
+        try {
+            return Long.parseLong(tags.get(0).tag());
+        } catch (NumberFormatException ex) {
+            throw new VersionMismatchException(ifMatch);
+        }
+    }
+}
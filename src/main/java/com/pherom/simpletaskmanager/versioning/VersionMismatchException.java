@@ -0,0 +1,15 @@
+package com.pherom.simpletaskmanager.versioning;
+
+public class VersionMismatchException extends RuntimeException {
+    public VersionMismatchException(String ifMatch) {
+        super("If-Match does not name a current version: " + ifMatch);
+    }
+
+    public VersionMismatchException(long expected) {
+        super("Version " + expected + " was modified concurrently");
+    }
+
+    public VersionMismatchException(long expected, long actual) {
+        super("Expected version " + expected + " but the current version is " + actual);
+    }
+}
@@ -0,0 +1,24 @@
+create sequence tasks_seq start with 1 increment by 100;
+
+create table tasks (
+    id bigint not null,
+    title varchar(255),
+    description varchar(255),
+    completed boolean not null,
+    version bigint not null,
+    primary key (id)
+);
+
+create index idx_tasks_title on tasks (title, id);
+create index idx_tasks_completed on tasks (completed, id);
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255),
+    password varchar(255),
+    email varchar(255),
+    version bigint not null,
+    primary key (id),
+    constraint uk_user_username unique (username),
+    constraint uk_user_email unique (email)
+);
@@ -0,0 +1,22 @@
+create sequence task_mod_seq start with 1;
+
+alter table tasks add column mod_seq bigint
+    default next value for task_mod_seq
+    on update next value for task_mod_seq
+    not null;
+
+create index idx_tasks_mod_seq on tasks (mod_seq);
+
+create table task_tombstones (
+    id bigint not null,
+    mod_seq bigint not null,
+    primary key (id)
+);
+
+create index idx_task_tombstones_mod_seq on task_tombstones (mod_seq);
+
+create table task_sync (
+    reset_seq bigint not null
+);
+
+insert into task_sync (reset_seq) values (0);
@@ -0,0 +1,44 @@
+package com.pherom.simpletaskmanager;
+
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentStorageIntegrationTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void tasksSurviveRestart() {
+        TaskResponseDTO saved;
+        try (ConfigurableApplicationContext context = start()) {
+            saved = context.getBean(TaskService.class).save(null, new TaskRequestDTO("TITLE", "DESC", true));
+        }
+        assertTrue(Files.exists(directory.resolve("taskdb.mv.db")));
+
+        try (ConfigurableApplicationContext context = start()) {
+            TaskService service = context.getBean(TaskService.class);
+            assertEquals(saved, service.findById(saved.id()).orElseThrow());
+            assertEquals(1, service.stats().total());
+            assertEquals(1, service.search("TITLE", 10).size());
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(SimpletaskmanagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("persistent")
+                .run("--task.storage.directory=" + directory);
+    }
+}
@@ -0,0 +1,60 @@
+package com.pherom.simpletaskmanager.snapshot;
+
+import com.pherom.simpletaskmanager.snapshot.controller.SnapshotController;
+import com.pherom.simpletaskmanager.snapshot.dto.SnapshotSummaryDTO;
+import com.pherom.simpletaskmanager.snapshot.exception.InvalidSnapshotException;
+import com.pherom.simpletaskmanager.snapshot.exception.SnapshotNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SnapshotController.class)
+class SnapshotControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private SnapshotService snapshotService;
+
+    @Test
+    void writeSnapshot_ShouldReturnCreatedWithSummary() throws Exception {
+        when(snapshotService.write("nightly")).thenReturn(new SnapshotSummaryDTO("nightly", 3, 2, 512, 4));
+
+        mockMvc.perform(post("/api/admin/snapshots/nightly"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.tasks").value(3))
+                .andExpect(jsonPath("$.users").value(2))
+                .andExpect(jsonPath("$.bytes").value(512));
+    }
+
+    @Test
+    void writeSnapshot_ShouldReturnBadRequest_WhenNameIsNotAPlainFileName() throws Exception {
+        mockMvc.perform(post("/api/admin/snapshots/.hidden"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(snapshotService);
+    }
+
+    @Test
+    void restoreSnapshot_ShouldReturnNotFound_WhenSnapshotDoesNotExist() throws Exception {
+        when(snapshotService.restore("missing")).thenThrow(new SnapshotNotFoundException("missing"));
+
+        mockMvc.perform(post("/api/admin/snapshots/missing/restore"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void restoreSnapshot_ShouldReturnUnprocessableEntity_WhenSnapshotIsCorrupt() throws Exception {
+        when(snapshotService.restore("corrupt")).thenThrow(new InvalidSnapshotException("corrupt", "unknown format"));
+
+        mockMvc.perform(post("/api/admin/snapshots/corrupt/restore"))
+                .andExpect(status().isUnprocessableEntity());
+    }
+}
@@ -0,0 +1,134 @@
+package com.pherom.simpletaskmanager.snapshot;
+
+import com.pherom.simpletaskmanager.snapshot.dto.SnapshotSummaryDTO;
+import com.pherom.simpletaskmanager.snapshot.exception.InvalidSnapshotException;
+import com.pherom.simpletaskmanager.snapshot.exception.SnapshotNotFoundException;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import com.pherom.simpletaskmanager.user.entity.User;
+import com.pherom.simpletaskmanager.user.repository.JpaUserRepository;
+import com.pherom.simpletaskmanager.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SnapshotServiceIntegrationTest {
+
+    @TempDir
+    private static Path directory;
+
+    @DynamicPropertySource
+    static void snapshotDirectory(DynamicPropertyRegistry registry) {
+        registry.add("snapshot.directory", () -> directory.toString());
+    }
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JpaUserRepository userRepository;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void restoreReplacesRowsAndRebuildsDerivedState() {
+        List<TaskResponseDTO> tasks = taskService.saveAll(IntStream.range(0, 70_000)
+                .mapToObj(i -> new TaskRequestDTO("Task " + i, (i % 3 == 0) ? null : "Beschreibung über " + i, i % 2 == 0))
+                .toList());
+        TaskResponseDTO updated = taskService.save(tasks.get(5).id(), new TaskRequestDTO("Renamed release task", null, null));
+        User user = userRepository.save(new User("Mark", "password123", "mark@gmail.com"));
+
+        SnapshotSummaryDTO written = snapshotService.write("full");
+        assertEquals(70_000, written.tasks());
+        assertEquals(1, written.users());
+        assertTrue(Files.exists(directory.resolve("full.snapshot")));
+
+        taskService.deleteAll();
+        userRepository.deleteAll();
+        taskService.save(null, new TaskRequestDTO("Other", "DESC", false));
+
+        SnapshotSummaryDTO restored = snapshotService.restore("full");
+        assertEquals(70_000, restored.tasks());
+        assertEquals(1, restored.users());
+
+        assertEquals(updated, taskService.findById(updated.id()).orElseThrow());
+        assertEquals(tasks.get(3), taskService.findById(tasks.get(3).id()).orElseThrow());
+        assertEquals(tasks.get(69_999), taskService.findById(tasks.get(69_999).id()).orElseThrow());
+        assertTrue(taskService.findByTitle("Other").isEmpty());
+        assertEquals(70_000, taskService.stats().total());
+        assertEquals(35_000, taskService.stats().completed());
+        assertEquals(List.of(updated), taskService.search("release", 10));
+        assertEquals(user.getId(), userService.findByUsername("Mark").orElseThrow().id());
+
+        long maxId = tasks.stream().mapToLong(TaskResponseDTO::id).max().orElseThrow();
+        assertTrue(taskService.save(null, new TaskRequestDTO("After restore", null, null)).id() > maxId);
+    }
+
+    @Test
+    void restoreAheadOfTheIdSequenceKeepsNewIdsClearOfRestoredRows() throws IOException {
+        long firstId = taskService.save(null, new TaskRequestDTO("Before restore", null, false)).id();
+        long lastRestoredId = firstId + 300;
+        try (SnapshotWriter writer = new SnapshotWriter(directory.resolve("ahead.snapshot"))) {
+            SnapshotWriter.Block tasks = new SnapshotWriter.Block(2, 1, 2);
+            writer.beginSection(SnapshotFormat.TASKS);
+            for (long id = firstId + 1; id <= lastRestoredId; ++id) {
+                tasks.setLong(0, id);
+                tasks.setLong(1, 0);
+                tasks.setBoolean(0, false);
+                tasks.setString(0, "Restored " + id);
+                tasks.setString(1, null);
+                tasks.endRow();
+            }
+            writer.writeBlock(tasks);
+            writer.endSection();
+            writer.beginSection(SnapshotFormat.USERS);
+            writer.endSection();
+        }
+
+        assertEquals(300, snapshotService.restore("ahead").tasks());
+
+        List<TaskResponseDTO> created = taskService.saveAll(IntStream.range(0, 150)
+                .mapToObj(i -> new TaskRequestDTO("After restore " + i, null, false))
+                .toList());
+        assertTrue(created.stream().allMatch(task -> task.id() > lastRestoredId));
+        assertEquals(450, taskService.stats().total());
+    }
+
+    @Test
+    void restoreOfMissingSnapshotFails() {
+        assertThrows(SnapshotNotFoundException.class, () -> snapshotService.restore("missing"));
+    }
+
+    @Test
+    void restoreOfCorruptSnapshotLeavesDataUntouched() throws IOException {
+        TaskResponseDTO task = taskService.save(null, new TaskRequestDTO("TITLE", "DESC", false));
+        Files.write(directory.resolve("corrupt.snapshot"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+
+        assertThrows(InvalidSnapshotException.class, () -> snapshotService.restore("corrupt"));
+        assertEquals(task, taskService.findById(task.id()).orElseThrow());
+    }
+}
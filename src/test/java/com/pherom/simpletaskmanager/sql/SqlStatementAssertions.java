@@ -0,0 +1,31 @@
+package com.pherom.simpletaskmanager.sql;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Asserts the exact number of JDBC statements a call runs on the current thread, as counted by
+ * {@link SqlStatementDataSource}. A JDBC batch counts as one statement.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+
+    }
+
+    public static <T> T assertStatements(int expected, Supplier<T> call) {
+        try (SqlStatementRecorder.Recording recording = SqlStatementRecorder.start()) {
+            T result = call.get();
+            assertEquals(expected, recording.statements(), "SQL statements executed");
+            return result;
+        }
+    }
+
+    public static void assertStatements(int expected, Runnable call) {
+        assertStatements(expected, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.pherom.simpletaskmanager.sql;
+
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskPatchDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.pherom.simpletaskmanager.sql.SqlStatementAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "sql.statements.warn-threshold=0")
+@AutoConfigureMockMvc
+class SqlStatementCountIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void findByIdQueriesOnceAndThenServesFromCache() {
+        TaskResponseDTO task = taskService.save(null, new TaskRequestDTO("TITLE", "DESC", false));
+        taskService.findById(task.id());
+
+        assertStatements(0, () -> taskService.findById(task.id()));
+        assertStatements(1, () -> taskService.findVersionById(task.id()));
+    }
+
+    @Test
+    void pagesAndBulkOperationsRunSingleStatements() {
+        List<TaskResponseDTO> tasks = taskService.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> new TaskRequestDTO("TASK" + i, "DESC", false))
+                .toList());
+        List<Long> ids = tasks.stream().map(TaskResponseDTO::id).toList();
+
+        assertStatements(1, () -> taskService.findPage(new TaskFilterDTO(null), null, 5));
+        assertStatements(2, () -> taskService.patchAll(new TaskBulkPatchRequestDTO(ids, null, new TaskPatchDTO(null, null, true))));
+        assertStatements(2, () -> taskService.deleteAllById(ids));
+    }
+
+    @Test
+    void requestsAreMeasuredAndFlaggedAboveThreshold() throws Exception {
+        TaskResponseDTO task = taskService.save(null, new TaskRequestDTO("TITLE", "DESC", false));
+
+        mockMvc.perform(get("/api/tasks/" + task.id())).andExpect(status().isOk());
+
+        assertEquals(1.0, registry.get("http.server.requests.sql.statements").tag("uri", "/api/tasks/{id}").summary().totalAmount());
+        assertTrue(registry.get("http.server.requests.sql.time").tag("uri", "/api/tasks/{id}").timer().count() > 0);
+        assertEquals(1.0, registry.get("http.server.requests.sql.flagged").tag("uri", "/api/tasks/{id}").counter().count());
+    }
+
+    @Test
+    void asyncExportIsMeasuredOnceItsBodyHasBeenStreamed() throws Exception {
+        taskService.saveAll(List.of(new TaskRequestDTO("TASK1", "DESC", false), new TaskRequestDTO("TASK2", "DESC", true)));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        DistributionSummary statements = registry.get("http.server.requests.sql.statements").tag("uri", "/api/tasks/export").summary();
+        assertEquals(1, statements.count());
+        assertEquals(1.0, statements.totalAmount());
+    }
+}
@@ -0,0 +1,170 @@
+package com.pherom.simpletaskmanager.task.controller;
+
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.exception.TaskNotFoundException;
+import com.pherom.simpletaskmanager.task.service.ReactiveTaskService;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(ReactiveTaskController.class)
+@ActiveProfiles("reactive")
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoBean
+    private ReactiveTaskService taskService;
+
+    @Test
+    void getAllTasks_ShouldReturnPageWithNextCursor() {
+        List<TaskResponseDTO> tasks = List.of(new TaskResponseDTO(1, "TASK1", "DESC1", true));
+        when(taskService.findPage(new TaskFilterDTO(true), null, 1)).thenReturn(Mono.just(new CursorPage<>(tasks, Cursors.encode(1))));
+
+        webTestClient.get().uri("/api/tasks?completed=true&limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CursorPage.NEXT_CURSOR_HEADER, Cursors.encode(1))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].title").isEqualTo("TASK1");
+    }
+
+    @Test
+    void exportTasks_ShouldStreamNdjson() {
+        when(taskService.streamAll()).thenReturn(Flux.just(
+                new TaskResponseDTO(1, "TASK1", "DESC1", false),
+                new TaskResponseDTO(2, "TASK2", "DESC2", true)));
+
+        webTestClient.get().uri("/api/tasks/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(TaskResponseDTO.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void getTaskById_ShouldReturnTaskWithETag() {
+        TaskResponseDTO task = new TaskResponseDTO(1, "TASK1", "DESC1", false, 3);
+        when(taskService.findVersionById(1)).thenReturn(Mono.just(3L));
+        when(taskService.findById(1)).thenReturn(Mono.just(task));
+
+        webTestClient.get().uri("/api/tasks/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("TASK1")
+                .jsonPath("$.version").doesNotExist();
+    }
+
+    @Test
+    void getTaskById_ShouldReturnNotModified_WhenETagMatches() {
+        when(taskService.findVersionById(1)).thenReturn(Mono.just(3L));
+
+        webTestClient.get().uri("/api/tasks/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified();
+
+        verify(taskService, never()).findById(anyLong());
+    }
+
+    @Test
+    void getTaskById_ShouldReturnNotFound_WhenTaskDoesNotExist() {
+        when(taskService.findVersionById(1)).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/tasks/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void createTask_ShouldReturnCreatedWithLocation() {
+        TaskRequestDTO request = new TaskRequestDTO("TASK1", "DESC1", null);
+        when(taskService.save(null, request, null)).thenReturn(Mono.just(new TaskResponseDTO(7, "TASK1", "DESC1", false)));
+
+        webTestClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value(HttpHeaders.LOCATION, location -> location.endsWith("/api/tasks/7"))
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(7);
+    }
+
+    @Test
+    void createTask_ShouldReturnBadRequest_WhenTitleIsBlank() {
+        webTestClient.post().uri("/api/tasks")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new TaskRequestDTO("", "DESC1", null))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void saveTask_ShouldReturnPreconditionFailed_WhenVersionDiffers() {
+        TaskRequestDTO request = new TaskRequestDTO("TASK1", "DESC1", true);
+        when(taskService.save(1L, request, 2L)).thenReturn(Mono.error(new VersionMismatchException(2, 3)));
+
+        webTestClient.put().uri("/api/tasks/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    void saveTask_ShouldReturnNewETag() {
+        TaskRequestDTO request = new TaskRequestDTO("TASK1", "DESC1", true);
+        when(taskService.save(1L, request, null)).thenReturn(Mono.just(new TaskResponseDTO(1, "TASK1", "DESC1", true, 4)));
+
+        webTestClient.put().uri("/api/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"");
+    }
+
+    @Test
+    void removeTask_ShouldReturnNotFound_WhenTaskDoesNotExist() {
+        when(taskService.deleteById(1)).thenReturn(Mono.error(new TaskNotFoundException(1)));
+
+        webTestClient.delete().uri("/api/tasks/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void removeAll_ShouldReturnNoContent() {
+        when(taskService.deleteAll()).thenReturn(Mono.empty());
+
+        webTestClient.delete().uri("/api/tasks")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
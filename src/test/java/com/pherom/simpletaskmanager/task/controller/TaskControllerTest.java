@@ -1,23 +1,48 @@
 package com.pherom.simpletaskmanager.task.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
+import com.pherom.simpletaskmanager.pagination.InvalidCursorException;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskCacheStatsDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskDeltaDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskIngestTicketDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskPatchDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskStatsDTO;
+import com.pherom.simpletaskmanager.task.entity.Task;
+import com.pherom.simpletaskmanager.task.exception.TaskIngestQueueFullException;
+import com.pherom.simpletaskmanager.task.exception.TaskIngestUnavailableException;
+import com.pherom.simpletaskmanager.task.feed.TaskChangeFeed;
 import com.pherom.simpletaskmanager.task.exception.TaskNotFoundException;
+import com.pherom.simpletaskmanager.task.ingest.TaskIngestQueue;
+import com.pherom.simpletaskmanager.task.ingest.TaskIngestStatus;
+import com.pherom.simpletaskmanager.task.service.TaskExportService;
 import com.pherom.simpletaskmanager.task.service.TaskService;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @WebMvcTest(TaskController.class)
@@ -29,13 +54,25 @@ class TaskControllerTest {
     @MockitoBean
     private TaskService taskService;
 
+    @MockitoBean
+    private TaskExportService taskExportService;
+
+    @MockitoBean
+    private TaskIngestQueue taskIngestQueue;
+
+    @MockitoBean
+    private TaskChangeFeed taskChangeFeed;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Test
     void getAllTasks_ShouldReturnListOfEmptyTasks() throws Exception {
+        when(taskService.findPage(new TaskFilterDTO(null), null, 50)).thenReturn(new CursorPage<>(List.of(), null));
+
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
     }
@@ -48,10 +85,11 @@ class TaskControllerTest {
                 new TaskResponseDTO(3, "TASK3", "DESC3", true)
         );
 
-        when(taskService.findAll()).thenReturn(tasks);
+        when(taskService.findPage(new TaskFilterDTO(null), null, 50)).thenReturn(new CursorPage<>(tasks, null));
 
         mockMvc.perform(get("/api/tasks"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(3))
                 .andExpect(jsonPath("$[0].id").value(1))
@@ -68,26 +106,232 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[2].completed").value(true));
     }
 
+    @Test
+    void getAllTasksPage_ShouldReturnNextCursorHeader() throws Exception {
+        String after = Cursors.encode(10);
+        String next = Cursors.encode(12);
+        List<TaskResponseDTO> tasks = List.of(
+                new TaskResponseDTO(11, "TASK11", "DESC11", false),
+                new TaskResponseDTO(12, "TASK12", "DESC12", true)
+        );
+
+        when(taskService.findPage(new TaskFilterDTO(null), after, 2)).thenReturn(new CursorPage<>(tasks, next));
+
+        mockMvc.perform(get("/api/tasks").param("after", after).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, next))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(11))
+                .andExpect(jsonPath("$[1].id").value(12));
+    }
+
+    @Test
+    void getCompletedTasks_ShouldPassFilter() throws Exception {
+        List<TaskResponseDTO> tasks = List.of(new TaskResponseDTO(12, "TASK12", "DESC12", true));
+
+        when(taskService.findPage(new TaskFilterDTO(true), null, 50)).thenReturn(new CursorPage<>(tasks, null));
+
+        mockMvc.perform(get("/api/tasks").param("completed", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].completed").value(true));
+    }
+
+    @Test
+    void getAllTasksWithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(taskService.findPage(new TaskFilterDTO(null), "garbage", 50)).thenThrow(new InvalidCursorException("garbage"));
+
+        mockMvc.perform(get("/api/tasks").param("after", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportTasks_ShouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(taskExportService).exportAll(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void getDelta_ShouldReturnChangesSinceToken() throws Exception {
+        String since = Cursors.encode(7);
+        when(taskService.findChangesSince(since, 500)).thenReturn(new TaskDeltaDTO(
+                List.of(new TaskResponseDTO(1L, "TITLE", "DESC", true)), List.of(2L), false, false, Cursors.encode(9)));
+
+        mockMvc.perform(get("/api/tasks/delta").param("since", since))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed[0].id").value(1))
+                .andExpect(jsonPath("$.deleted[0]").value(2))
+                .andExpect(jsonPath("$.reset").value(false))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andExpect(jsonPath("$.token").value(Cursors.encode(9)));
+    }
+
+    @Test
+    void getDelta_ShouldReturnBadRequest_WhenTokenIsInvalid() throws Exception {
+        when(taskService.findChangesSince("bogus", 500)).thenThrow(new InvalidCursorException("bogus"));
+
+        mockMvc.perform(get("/api/tasks/delta").param("since", "bogus"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamChanges_ShouldSubscribeFromLastEventId() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(taskChangeFeed.subscribe("41")).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/tasks/changes").header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("42").name("deleted").data("{\"type\":\"DELETED\",\"id\":7}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:42\nevent:deleted\ndata:{\"type\":\"DELETED\",\"id\":7}\n\n"));
+    }
+
+    @Test
+    void getStats_ShouldReturnCounts() throws Exception {
+        when(taskService.stats()).thenReturn(new TaskStatsDTO(10, 4, 6));
+
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(10))
+                .andExpect(jsonPath("$.completed").value(4))
+                .andExpect(jsonPath("$.open").value(6));
+    }
+
+    @Test
+    void getCacheStats_ShouldReturnCounters() throws Exception {
+        when(taskService.cacheStats()).thenReturn(new TaskCacheStatsDTO(9, 1, 2, 0.9, 5));
+
+        mockMvc.perform(get("/api/tasks/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(9))
+                .andExpect(jsonPath("$.missCount").value(1))
+                .andExpect(jsonPath("$.evictionCount").value(2))
+                .andExpect(jsonPath("$.hitRate").value(0.9))
+                .andExpect(jsonPath("$.size").value(5));
+    }
+
+    @Test
+    void searchByTitlePrefix_ShouldReturnMatches() throws Exception {
+        when(taskService.findByTitlePrefix("TASK", 20)).thenReturn(List.of(
+                new TaskResponseDTO(1, "TASK1", "DESC1", false),
+                new TaskResponseDTO(2, "TASK2", "DESC2", false)
+        ));
+
+        mockMvc.perform(get("/api/tasks/search").param("titlePrefix", "TASK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("TASK1"))
+                .andExpect(jsonPath("$[1].title").value("TASK2"));
+    }
+
+    @Test
+    void search_ShouldReturnRankedMatches() throws Exception {
+        when(taskService.search("write OR docs", 5)).thenReturn(List.of(
+                new TaskResponseDTO(2, "Write docs", "DESC2", false),
+                new TaskResponseDTO(1, "Write", "DESC1", false)
+        ));
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "write OR docs").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(2))
+                .andExpect(jsonPath("$[1].id").value(1));
+    }
+
+    @Test
+    void searchByBlankQuery_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void searchByEmptyTitlePrefix_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tasks/search").param("titlePrefix", ""))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     void getTaskById_ShouldReturn404NotFound() throws Exception {
-        when(taskService.findById(1)).thenReturn(Optional.empty());
+        when(taskService.findVersionById(1)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/tasks/1"))
                 .andExpect(status().isNotFound());
+
+        verify(taskService, never()).findById(1);
     }
 
     @Test
     void getTaskById_ShouldReturnTask() throws Exception {
-        TaskResponseDTO responseDTO = new TaskResponseDTO(1, "TASK1", "DESC1", false);
+        TaskResponseDTO responseDTO = new TaskResponseDTO(1, "TASK1", "DESC1", false, 3);
 
+        when(taskService.findVersionById(1)).thenReturn(Optional.of(3L));
         when(taskService.findById(1)).thenReturn(Optional.of(responseDTO));
 
         mockMvc.perform(get("/api/tasks/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("TASK1"))
                 .andExpect(jsonPath("$.description").value("DESC1"))
-                .andExpect(jsonPath("$.completed").value(false));
+                .andExpect(jsonPath("$.completed").value(false))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getTaskByIdWithMatchingETag_ShouldReturnNotModifiedWithoutLoadingTask() throws Exception {
+        when(taskService.findVersionById(1)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(taskService, never()).findById(1);
+    }
+
+    @Test
+    void getTaskByIdWithStaleETag_ShouldReturnTask() throws Exception {
+        when(taskService.findVersionById(1)).thenReturn(Optional.of(4L));
+        when(taskService.findById(1)).thenReturn(Optional.of(new TaskResponseDTO(1, "TASK1", "DESC1", true, 4)));
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    void getTaskByIdWithOutdatedCachedCopy_ShouldReloadTask() throws Exception {
+        when(taskService.findVersionById(1)).thenReturn(Optional.of(4L));
+        when(taskService.findById(1)).thenReturn(Optional.of(new TaskResponseDTO(1, "TASK1", "DESC1", false, 3)));
+        when(taskService.reloadById(1)).thenReturn(Optional.of(new TaskResponseDTO(1, "TASK1", "DESC1", true, 4)));
+
+        mockMvc.perform(get("/api/tasks/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.completed").value(true));
     }
 
     @Test
@@ -113,6 +357,64 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.completed").value(completed));
     }
 
+    @Test
+    void createTask_ShouldReturnAcceptedWithTicket_WhenIngestIsEnabled() throws Exception {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("TASK", "DESC", false);
+        when(taskIngestQueue.isEnabled()).thenReturn(true);
+        when(taskIngestQueue.submit(requestDTO)).thenReturn(new TaskIngestTicketDTO("T1", TaskIngestStatus.QUEUED, null));
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", Matchers.endsWith("/api/tasks/ingest/T1")))
+                .andExpect(jsonPath("$.ticket").value("T1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(taskService, never()).save(any(), any());
+    }
+
+    @Test
+    void createTask_ShouldReturnTooManyRequests_WhenIngestQueueIsFull() throws Exception {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("TASK", "DESC", false);
+        when(taskIngestQueue.isEnabled()).thenReturn(true);
+        when(taskIngestQueue.submit(requestDTO)).thenThrow(new TaskIngestQueueFullException(1));
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void createTask_ShouldReturnServiceUnavailable_WhenIngestQueueIsStopped() throws Exception {
+        TaskRequestDTO requestDTO = new TaskRequestDTO("TASK", "DESC", false);
+        when(taskIngestQueue.isEnabled()).thenReturn(true);
+        when(taskIngestQueue.submit(requestDTO)).thenThrow(new TaskIngestUnavailableException());
+
+        mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        verify(taskService, never()).save(any(), any());
+    }
+
+    @Test
+    void getIngestStatus_ShouldReturnTicketOrNotFound() throws Exception {
+        when(taskIngestQueue.status("T1")).thenReturn(Optional.of(new TaskIngestTicketDTO("T1", TaskIngestStatus.CREATED, 7L)));
+        when(taskIngestQueue.status("T2")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/tasks/ingest/T1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.taskId").value(7));
+        mockMvc.perform(get("/api/tasks/ingest/T2"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void createEmptyTitledTask_ShouldReturnBadRequest() throws Exception {
         TaskRequestDTO requestDTO = new TaskRequestDTO("", "DESC", false);
@@ -146,6 +448,56 @@ class TaskControllerTest {
                 .andExpect(content().string(Matchers.containsString("description: size must be between 0 and 255")));
     }
 
+    @Test
+    void createTasks_ShouldCreateAllTasksAndReturnCreated() throws Exception {
+        List<TaskRequestDTO> requestDTOs = List.of(
+                new TaskRequestDTO("TASK1", "DESC1", false),
+                new TaskRequestDTO("TASK2", "DESC2", true)
+        );
+        List<TaskResponseDTO> responseDTOs = List.of(
+                new TaskResponseDTO(1, "TASK1", "DESC1", false),
+                new TaskResponseDTO(2, "TASK2", "DESC2", true)
+        );
+
+        when(taskService.saveAll(requestDTOs)).thenReturn(responseDTOs);
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTOs)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].completed").value(true));
+    }
+
+    @Test
+    void createTasksWithEmptyTitledTask_ShouldReturnBadRequest() throws Exception {
+        List<TaskRequestDTO> requestDTOs = List.of(
+                new TaskRequestDTO("TASK1", "DESC1", false),
+                new TaskRequestDTO("", "DESC2", false)
+        );
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTOs)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Matchers.containsString("title: must not be blank")));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void createEmptyBatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Matchers.containsString("tasks: must not be empty")));
+
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     void saveTask_ShouldReturnUpdatedTask() throws Exception {
         String updatedTitle = "UPDATED_TASK";
@@ -157,7 +509,7 @@ class TaskControllerTest {
         TaskResponseDTO updated = new TaskResponseDTO(1, updatedTitle, updatedDesc, updatedComp);
 
         when(taskService.findById(1)).thenReturn(Optional.of(existing));
-        when(taskService.save(1L, updateRequest)).thenReturn(updated);
+        when(taskService.save(1L, updateRequest, null)).thenReturn(updated);
 
         mockMvc.perform(put("/api/tasks/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -169,11 +521,62 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.completed").value(updatedComp));
     }
 
+    @Test
+    void saveTaskWithIfMatch_ShouldPassExpectedVersionAndReturnNewETag() throws Exception {
+        TaskRequestDTO updateRequest = new TaskRequestDTO("UPDATED_TASK", null, null);
+
+        when(taskService.save(1L, updateRequest, 3L)).thenReturn(new TaskResponseDTO(1, "UPDATED_TASK", "DESC", false, 4));
+
+        mockMvc.perform(put("/api/tasks/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.title").value("UPDATED_TASK"));
+    }
+
+    @Test
+    void saveTaskWithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        TaskRequestDTO updateRequest = new TaskRequestDTO("UPDATED_TASK", null, null);
+
+        when(taskService.save(1L, updateRequest, 3L)).thenThrow(new VersionMismatchException(3, 4));
+
+        mockMvc.perform(put("/api/tasks/1")
+                .header("If-Match", "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void saveTaskLosingConcurrentRaceWithoutIfMatch_ShouldReturnConflict() throws Exception {
+        TaskRequestDTO updateRequest = new TaskRequestDTO("UPDATED_TASK", null, null);
+
+        when(taskService.save(1L, updateRequest, null)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        mockMvc.perform(put("/api/tasks/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void saveTaskWithWeakIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(put("/api/tasks/1")
+                .header("If-Match", "W/\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequestDTO("UPDATED_TASK", null, null))))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     void saveTask_ShouldReturn404NotFound() throws Exception {
         TaskRequestDTO requestDTO = new TaskRequestDTO("UPDATED_TASK", "UPDATED_DESC", true);
 
-        when(taskService.save(1L, requestDTO)).thenThrow(new TaskNotFoundException(1));
+        when(taskService.save(1L, requestDTO, null)).thenThrow(new TaskNotFoundException(1));
 
         mockMvc.perform(put("/api/tasks/1")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -214,6 +617,58 @@ class TaskControllerTest {
                 .andExpect(content().string(Matchers.containsString("description: size must be between 0 and 255")));
     }
 
+    @Test
+    void patchTasksByIds_ShouldReturnAffectedCount() throws Exception {
+        TaskBulkPatchRequestDTO requestDTO = new TaskBulkPatchRequestDTO(List.of(1L, 2L, 3L), null, new TaskPatchDTO(null, null, true));
+
+        when(taskService.patchAll(requestDTO)).thenReturn(3);
+
+        mockMvc.perform(patch("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(3));
+    }
+
+    @Test
+    void patchTasksByFilter_ShouldReturnAffectedCount() throws Exception {
+        TaskBulkPatchRequestDTO requestDTO = new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(false), new TaskPatchDTO(null, null, true));
+
+        when(taskService.patchAll(requestDTO)).thenReturn(7);
+
+        mockMvc.perform(patch("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(7));
+    }
+
+    @Test
+    void patchTasksWithIdsAndFilter_ShouldReturnBadRequest() throws Exception {
+        TaskBulkPatchRequestDTO requestDTO = new TaskBulkPatchRequestDTO(List.of(1L), new TaskFilterDTO(false), new TaskPatchDTO(null, null, true));
+
+        mockMvc.perform(patch("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Matchers.containsString("targetValid: exactly one of ids or filter must be provided")));
+
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void patchTasksWithoutChanges_ShouldReturnBadRequest() throws Exception {
+        TaskBulkPatchRequestDTO requestDTO = new TaskBulkPatchRequestDTO(List.of(1L), null, new TaskPatchDTO(null, null, null));
+
+        mockMvc.perform(patch("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Matchers.containsString("set.notEmpty: at least one field must be set")));
+
+        verifyNoInteractions(taskService);
+    }
+
     @Test
     void removeTask_ShouldReturnDeletedTask() throws Exception {
         String deletedTitle = "TASK";
@@ -224,6 +679,25 @@ class TaskControllerTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void removeTasksByIds_ShouldReturnAffectedCount() throws Exception {
+        when(taskService.deleteAllById(List.of(1L, 2L, 3L))).thenReturn(2);
+
+        mockMvc.perform(delete("/api/tasks").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(2));
+
+        verify(taskService, never()).deleteAll();
+    }
+
+    @Test
+    void removeAll_ShouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/api/tasks"))
+                .andExpect(status().isNoContent());
+
+        verify(taskService).deleteAll();
+    }
+
     @Test
     void removeNonExistentTask_ShouldReturnNotFound() throws Exception {
         doThrow(new TaskNotFoundException(1)).when(taskService).deleteById(1);
@@ -0,0 +1,181 @@
+package com.pherom.simpletaskmanager.task.feed;
+
+import com.pherom.simpletaskmanager.snapshot.SnapshotService;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "task.feed.buffer-size=8")
+class TaskChangeFeedIntegrationTest {
+
+    private record Event(String id, String name, String data) {
+
+        String epoch() {
+            return id.substring(0, id.lastIndexOf('-'));
+        }
+
+        long sequence() {
+            return Long.parseLong(id.substring(id.lastIndexOf('-') + 1));
+        }
+    }
+
+    @TempDir
+    private static Path directory;
+
+    @DynamicPropertySource
+    static void snapshotDirectory(DynamicPropertyRegistry registry) {
+        registry.add("snapshot.directory", () -> directory.toString());
+    }
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void changesAreStreamedAndResumedFromLastEventId() throws Exception {
+        TaskResponseDTO created;
+        List<Event> live;
+        try (Stream<String> lines = subscribe(null)) {
+            created = taskService.save(null, new TaskRequestDTO("FEED", "DESC", false));
+            taskService.save(created.id(), new TaskRequestDTO("RENAMED", null, true));
+            taskService.deleteById(created.id());
+            live = read(lines.iterator(), 3);
+        }
+
+        assertEquals(List.of("created", "updated", "deleted"), live.stream().map(Event::name).toList());
+        assertEquals(live.get(0).epoch(), live.get(2).epoch());
+        assertEquals(live.get(0).sequence() + 1, live.get(1).sequence());
+        assertEquals(live.get(1).sequence() + 1, live.get(2).sequence());
+        assertTrue(live.get(0).data().contains("\"title\":\"FEED\""));
+        assertTrue(live.get(1).data().contains("\"completed\":true"));
+        assertEquals("{\"type\":\"DELETED\",\"id\":" + created.id() + "}", live.get(2).data());
+
+        try (Stream<String> lines = subscribe(live.get(0).id())) {
+            assertEquals(live.subList(1, 3), read(lines.iterator(), 2));
+        }
+    }
+
+    @Test
+    void resumingFromAnEvictedSequenceResets() throws Exception {
+        Event first = firstChange();
+        taskService.saveAll(IntStream.range(0, 5).mapToObj(i -> new TaskRequestDTO("TASK" + i, null, false)).toList());
+        taskService.saveAll(IntStream.range(0, 5).mapToObj(i -> new TaskRequestDTO("TASK" + i, null, false)).toList());
+
+        try (Stream<String> lines = subscribe(first.id())) {
+            Iterator<String> events = lines.iterator();
+            Event reset = read(events, 1).getFirst();
+            assertEquals("reset", reset.name());
+            assertEquals("{\"type\":\"RESET\"}", reset.data());
+
+            taskService.deleteAll();
+            Event cleared = read(events, 1).getFirst();
+            assertEquals("cleared", cleared.name());
+            assertEquals(reset.sequence() + 1, cleared.sequence());
+        }
+    }
+
+    @Test
+    void resumingFromAnotherRunResets() throws Exception {
+        Event first = firstChange();
+        taskService.save(null, new TaskRequestDTO("SECOND", null, false));
+
+        try (Stream<String> lines = subscribe("0-" + first.sequence())) {
+            Event reset = read(lines.iterator(), 1).getFirst();
+            assertEquals("reset", reset.name());
+            assertEquals(first.sequence() + 1, reset.sequence());
+        }
+        try (Stream<String> lines = subscribe(first.id())) {
+            assertEquals("created", read(lines.iterator(), 1).getFirst().name());
+        }
+    }
+
+    @Test
+    void restoringASnapshotResets() throws Exception {
+        taskService.save(null, new TaskRequestDTO("SNAPSHOT", null, false));
+        snapshotService.write("feed");
+
+        try (Stream<String> lines = subscribe(null)) {
+            snapshotService.restore("feed");
+            Event reset = read(lines.iterator(), 1).getFirst();
+            assertEquals("reset", reset.name());
+            assertEquals("{\"type\":\"RESET\"}", reset.data());
+        }
+    }
+
+    private Event firstChange() throws Exception {
+        try (Stream<String> lines = subscribe(null)) {
+            taskService.save(null, new TaskRequestDTO("FIRST", null, false));
+            return read(lines.iterator(), 1).getFirst();
+        }
+    }
+
+    private Stream<String> subscribe(String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/tasks/changes"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    private static List<Event> read(Iterator<String> lines, int count) throws Exception {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Event> events = new ArrayList<>(count);
+            String id = null;
+            String name = null;
+            String data = null;
+            while (events.size() < count && lines.hasNext()) {
+                String line = lines.next();
+                if (line.startsWith("id:")) {
+                    id = line.substring(3);
+                } else if (line.startsWith("event:")) {
+                    name = line.substring(6);
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5);
+                } else if (line.isEmpty() && name != null) {
+                    events.add(new Event(id, name, data));
+                    name = null;
+                }
+            }
+            return events;
+        }).get(10, TimeUnit.SECONDS);
+    }
+}
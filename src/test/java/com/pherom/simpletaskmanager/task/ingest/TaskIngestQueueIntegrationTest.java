@@ -0,0 +1,126 @@
+package com.pherom.simpletaskmanager.task.ingest;
+
+import com.pherom.simpletaskmanager.task.dto.TaskIngestTicketDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.exception.TaskIngestQueueFullException;
+import com.pherom.simpletaskmanager.task.exception.TaskIngestUnavailableException;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {"task.ingest.enabled=true", "task.ingest.batch-size=64"})
+class TaskIngestQueueIntegrationTest {
+
+    @Autowired
+    private TaskIngestQueue ingestQueue;
+
+    @Autowired
+    private TaskService taskService;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void queuedTasksAreCommittedAndTicketsResolved() throws InterruptedException {
+        List<TaskIngestTicketDTO> tickets = IntStream.range(0, 200)
+                .mapToObj(i -> ingestQueue.submit(new TaskRequestDTO("TASK" + i, "DESC", i % 2 == 0)))
+                .toList();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (ingestQueue.status(tickets.getLast().ticket()).orElseThrow().status() == TaskIngestStatus.QUEUED) {
+            assertTrue(System.nanoTime() < deadline, "ingest queue did not drain");
+            Thread.sleep(10);
+        }
+
+        for (int i = 0; i < tickets.size(); ++i) {
+            TaskIngestTicketDTO status = ingestQueue.status(tickets.get(i).ticket()).orElseThrow();
+            assertEquals(TaskIngestStatus.CREATED, status.status());
+            TaskResponseDTO task = taskService.findById(status.taskId()).orElseThrow();
+            assertEquals("TASK" + i, task.title());
+        }
+        assertEquals(200, taskService.stats().total());
+        assertEquals(100, taskService.stats().completed());
+    }
+
+    @Test
+    void unknownTicketHasNoStatus() {
+        assertTrue(ingestQueue.status("missing").isEmpty());
+    }
+
+    @Test
+    void invalidTaskFailsOnlyItsOwnTicket() throws InterruptedException {
+        List<TaskIngestTicketDTO> tickets = IntStream.range(0, 10)
+                .mapToObj(i -> ingestQueue.submit(new TaskRequestDTO((i == 4) ? "T".repeat(300) : "TASK" + i, "DESC", false)))
+                .toList();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (tickets.stream().anyMatch(ticket -> ingestQueue.status(ticket.ticket()).orElseThrow().status() == TaskIngestStatus.QUEUED)) {
+            assertTrue(System.nanoTime() < deadline, "ingest queue did not drain");
+            Thread.sleep(10);
+        }
+
+        for (int i = 0; i < tickets.size(); ++i) {
+            TaskIngestStatus expected = (i == 4) ? TaskIngestStatus.FAILED : TaskIngestStatus.CREATED;
+            assertEquals(expected, ingestQueue.status(tickets.get(i).ticket()).orElseThrow().status());
+        }
+        assertEquals(9, taskService.stats().total());
+    }
+
+    @Test
+    void stoppedQueueRejectsSubmissions() {
+        TaskIngestQueue queue = new TaskIngestQueue(taskService, true, 2, 10, Duration.ofMillis(20), Duration.ofMinutes(1));
+        TaskRequestDTO task = new TaskRequestDTO("TASK", "DESC", false);
+
+        assertThrows(TaskIngestUnavailableException.class, () -> queue.submit(task));
+
+        queue.start();
+        queue.submit(task);
+        queue.stop();
+
+        assertThrows(TaskIngestUnavailableException.class, () -> queue.submit(task));
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    void fullQueueRejectsSubmissions() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        TaskService blocked = mock(TaskService.class);
+        when(blocked.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await();
+            return List.of(new TaskResponseDTO(1, "TASK", "DESC", false));
+        });
+        TaskIngestQueue queue = new TaskIngestQueue(blocked, true, 2, 1, Duration.ofMillis(20), Duration.ofMinutes(1));
+        TaskRequestDTO task = new TaskRequestDTO("TASK", "DESC", false);
+
+        queue.start();
+        try {
+            queue.submit(task);
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (queue.pending() > 0) {
+                assertTrue(System.nanoTime() < deadline, "writer did not take the first task");
+                Thread.sleep(5);
+            }
+            queue.submit(task);
+            queue.submit(task);
+
+            assertThrows(TaskIngestQueueFullException.class, () -> queue.submit(task));
+            assertEquals(2, queue.pending());
+        } finally {
+            release.countDown();
+            queue.stop();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import com.pherom.simpletaskmanager.snapshot.SnapshotService;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskJournalReplayDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskPatchDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"task.journal.enabled=true", "task.journal.segment-size=4KB"})
+class TaskJournalIntegrationTest {
+
+    @TempDir
+    static Path journalDirectory;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("task.journal.directory", journalDirectory::toString);
+        registry.add("snapshot.directory", () -> journalDirectory.resolve("snapshots").toString());
+    }
+
+    @Autowired
+    private TaskJournal journal;
+
+    @Autowired
+    private TaskJournalReplayer replayer;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void rebuildFromJournalMatchesTheTable() throws Exception {
+        List<TaskResponseDTO> created = new ArrayList<>(taskService.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> new TaskRequestDTO("TASK" + i, "DESC" + i, i % 3 == 0))
+                .toList()));
+        created.add(taskService.save(null, new TaskRequestDTO("SINGLE", null, false)));
+        taskService.save(created.get(1).id(), new TaskRequestDTO("RENAMED", null, true));
+        taskService.patchAll(new TaskBulkPatchRequestDTO(List.of(created.get(2).id(), created.get(3).id()), null,
+                new TaskPatchDTO(null, "PATCHED", null)));
+        taskService.patchAll(new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(true), new TaskPatchDTO(null, null, false)));
+        taskService.deleteById(created.get(4).id());
+        taskService.deleteAllById(List.of(created.get(5).id(), created.get(6).id(), -1L));
+
+        assertTrue(journal.sync(Duration.ofSeconds(10)));
+        TaskJournalReplayer.Rebuild rebuild = TaskJournalReplayer.rebuild(journalDirectory);
+
+        assertEquals(taskService.findAll(), List.copyOf(rebuild.tasks().values()));
+        assertTrue(rebuild.segments() > 1, "segments should roll over at 4KB");
+    }
+
+    @Test
+    void snapshotRestoreIsJournaledWithTheRestoredTasks() throws Exception {
+        List<TaskResponseDTO> created = taskService.saveAll(IntStream.range(0, 30)
+                .mapToObj(i -> new TaskRequestDTO("TASK" + i, "DESC", i % 2 == 0))
+                .toList());
+        snapshotService.write("journaled");
+        taskService.deleteById(created.getFirst().id());
+        taskService.save(created.get(1).id(), new TaskRequestDTO("CHANGED AFTER SNAPSHOT", null, null));
+
+        snapshotService.restore("journaled");
+
+        assertTrue(journal.sync(Duration.ofSeconds(10)));
+        assertEquals(created, List.copyOf(TaskJournalReplayer.rebuild(journalDirectory).tasks().values()));
+    }
+
+    @Test
+    void replayRestoresTheTableFromTheJournal() throws Exception {
+        taskService.saveAll(IntStream.range(0, 50)
+                .mapToObj(i -> new TaskRequestDTO("TASK" + i, "DESC", i % 2 == 0))
+                .toList());
+        List<TaskResponseDTO> expected = taskService.findAll();
+
+        jdbc.update("delete from tasks");
+        TaskJournalReplayDTO replayed = replayer.replay();
+
+        assertEquals(50, replayed.tasks());
+        assertEquals(expected, taskService.findAll());
+        assertEquals(25, taskService.stats().completed());
+        assertEquals("TASK7", taskService.findById(expected.get(7).id()).orElseThrow().title());
+
+        TaskResponseDTO next = taskService.save(null, new TaskRequestDTO("NEXT", null, false));
+        assertTrue(next.id() > expected.getLast().id());
+
+        assertTrue(journal.sync(Duration.ofSeconds(10)));
+        assertEquals(taskService.findAll(), List.copyOf(TaskJournalReplayer.rebuild(journalDirectory).tasks().values()));
+    }
+}
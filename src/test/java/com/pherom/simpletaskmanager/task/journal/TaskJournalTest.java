@@ -0,0 +1,204 @@
+package com.pherom.simpletaskmanager.task.journal;
+
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksReplacedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private final TaskJournalStore store = mock(TaskJournalStore.class);
+
+    @Test
+    void recordsRollOverIntoNewSegmentsAndReplayInOrder() throws Exception {
+        TaskJournal journal = start(DataSize.ofBytes(256));
+        for (long id = 1; id <= 20; ++id) {
+            journal.onTaskChange(saved(id, "TASK" + id));
+        }
+        journal.onTaskChange(new TaskDeletedEvent(3, false));
+        journal.onTaskChange(saved(5, "RENAMED", 1));
+        assertTrue(journal.sync(Duration.ofSeconds(5)));
+        journal.stop();
+
+        List<Path> segments = TaskJournalCodec.segments(directory);
+        assertTrue(segments.size() > 1);
+        assertEquals(1, TaskJournalCodec.firstSequence(segments.getFirst()));
+
+        TaskJournalReplayer.Rebuild rebuild = TaskJournalReplayer.rebuild(directory);
+        assertEquals(22, rebuild.records());
+        assertEquals(19, rebuild.tasks().size());
+        assertFalse(rebuild.tasks().containsKey(3L));
+        assertEquals("RENAMED", rebuild.tasks().get(5L).title());
+    }
+
+    @Test
+    void tornTailIsTruncatedOnStartAndSequenceContinues() throws Exception {
+        TaskJournal journal = start(DataSize.ofMegabytes(1));
+        journal.onTaskChange(saved(1, "FIRST"));
+        journal.onTaskChange(saved(2, "SECOND"));
+        assertTrue(journal.sync(Duration.ofSeconds(5)));
+        journal.stop();
+
+        Path segment = TaskJournalCodec.segments(directory).getFirst();
+        long intact = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        TaskJournal reopened = start(DataSize.ofMegabytes(1));
+        assertEquals(intact, Files.size(segment));
+        reopened.onTaskChange(new TaskDeletedEvent(1, false));
+        reopened.onTaskChange(saved(3, "THIRD"));
+        assertTrue(reopened.sync(Duration.ofSeconds(5)));
+        reopened.stop();
+
+        List<Long> sequences = new ArrayList<>();
+        TaskJournalCodec.scan(ByteBuffer.wrap(Files.readAllBytes(segment)), record -> sequences.add(record.sequence()));
+        assertEquals(List.of(1L, 2L, 3L, 4L), sequences);
+        TaskJournalReplayer.Rebuild rebuild = TaskJournalReplayer.rebuild(directory);
+        assertEquals(4, rebuild.records());
+        assertEquals(List.of(2L, 3L), List.copyOf(rebuild.tasks().keySet()));
+    }
+
+    @Test
+    void wipeCheckpointDeletesOlderSegments() throws Exception {
+        TaskJournal journal = start(DataSize.ofBytes(256));
+        for (long id = 1; id <= 20; ++id) {
+            journal.onTaskChange(saved(id, "TASK" + id));
+        }
+        journal.onTaskChange(new AllTasksDeletedEvent());
+        journal.onTaskChange(saved(21, "AFTER WIPE"));
+        assertTrue(journal.sync(Duration.ofSeconds(5)));
+        journal.stop();
+
+        List<Path> segments = TaskJournalCodec.segments(directory);
+        assertEquals(21, TaskJournalCodec.firstSequence(segments.getFirst()));
+        TaskJournalReplayer.Rebuild rebuild = TaskJournalReplayer.rebuild(directory);
+        assertEquals(2, rebuild.records());
+        assertEquals(List.of(21L), List.copyOf(rebuild.tasks().keySet()));
+    }
+
+    @Test
+    void replaceCheckpointHoldsTheCurrentTable() throws Exception {
+        when(store.streamByCompleted(null)).thenReturn(Stream.of(
+                new TaskResponseDTO(7, "RESTORED", null, true, 3), new TaskResponseDTO(8, "RESTORED", null, false, 0)));
+        TaskJournal journal = start(DataSize.ofBytes(256));
+        for (long id = 1; id <= 20; ++id) {
+            journal.onTaskChange(saved(id, "TASK" + id));
+        }
+        journal.onTaskChange(new TasksReplacedEvent());
+        assertTrue(journal.sync(Duration.ofSeconds(5)));
+        journal.stop();
+
+        assertEquals(21, TaskJournalCodec.firstSequence(TaskJournalCodec.segments(directory).getFirst()));
+        TaskJournalReplayer.Rebuild rebuild = TaskJournalReplayer.rebuild(directory);
+        assertEquals(3, rebuild.records());
+        assertEquals(List.of(7L, 8L), List.copyOf(rebuild.tasks().keySet()));
+        assertEquals(3, rebuild.tasks().get(7L).version());
+    }
+
+    @Test
+    void recordsJournaledOutOfOrderKeepTheNewestState() throws Exception {
+        TaskJournal journal = start(DataSize.ofMegabytes(1));
+        journal.onTaskChange(saved(1, "NEWER", 2));
+        journal.onTaskChange(saved(1, "OLDER", 1));
+        journal.onTaskChange(new TaskDeletedEvent(2, false));
+        journal.onTaskChange(saved(2, "UPDATED BEFORE DELETE", 1));
+        assertTrue(journal.sync(Duration.ofSeconds(5)));
+        journal.stop();
+
+        TaskJournalReplayer.Rebuild rebuild = TaskJournalReplayer.rebuild(directory);
+        assertEquals(List.of(1L), List.copyOf(rebuild.tasks().keySet()));
+        assertEquals("NEWER", rebuild.tasks().get(1L).title());
+    }
+
+    @Test
+    void changesFindingTheQueueFullAreDroppedInsteadOfWaitingForever() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(store.streamByCompleted(null)).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await();
+            return Stream.empty();
+        });
+        TaskJournal journal = new TaskJournal(store, true, directory, DataSize.ofMegabytes(1), TaskJournalFsync.BATCH, Duration.ofSeconds(1), 1,
+                Duration.ofMillis(50), 64);
+        journal.start();
+        TaskJournalHealthIndicator health = new TaskJournalHealthIndicator(journal);
+
+        journal.onTaskChange(new TasksReplacedEvent());
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+        journal.onTaskChange(saved(1, "QUEUED"));
+        journal.onTaskChange(saved(2, "DROPPED"));
+
+        assertEquals(1, journal.dropped());
+        assertEquals(Status.DOWN, health.health().getStatus());
+        release.countDown();
+        assertTrue(journal.sync(Duration.ofSeconds(5)));
+        journal.stop();
+        assertEquals(List.of(1L), List.copyOf(TaskJournalReplayer.rebuild(directory).tasks().keySet()));
+    }
+
+    @Test
+    void failedWriteStopsTheJournalAndReportsDown() throws Exception {
+        TaskJournal journal = start(DataSize.ofBytes(256));
+        TaskJournalHealthIndicator health = new TaskJournalHealthIndicator(journal);
+        assertEquals(Status.UP, health.health().getStatus());
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+        for (long id = 1; id <= 20; ++id) {
+            journal.onTaskChange(saved(id, "TASK" + id));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.failure() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(journal.failure());
+        assertFalse(journal.isRunning());
+        assertFalse(journal.sync(Duration.ofSeconds(1)));
+        assertEquals(Status.DOWN, health.health().getStatus());
+        Files.createDirectories(directory);
+    }
+
+    private TaskJournal start(DataSize segmentSize) {
+        TaskJournal journal = new TaskJournal(store, true, directory, segmentSize, TaskJournalFsync.BATCH, Duration.ofSeconds(1), 1024,
+                Duration.ofSeconds(1), 64);
+        journal.start();
+        return journal;
+    }
+
+    private static TaskSavedEvent saved(long id, String title) {
+        return saved(id, title, 0);
+    }
+
+    private static TaskSavedEvent saved(long id, String title, long version) {
+        return new TaskSavedEvent(null, new TaskResponseDTO(id, title, "DESC", false, version));
+    }
+}
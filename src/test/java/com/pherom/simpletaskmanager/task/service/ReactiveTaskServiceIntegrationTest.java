@@ -0,0 +1,163 @@
+package com.pherom.simpletaskmanager.task.service;
+
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskStatsDTO;
+import com.pherom.simpletaskmanager.task.entity.Task;
+import com.pherom.simpletaskmanager.task.exception.TaskNotFoundException;
+import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository;
+import com.pherom.simpletaskmanager.task.search.TaskSearchIndex;
+import com.pherom.simpletaskmanager.task.stats.TaskStats;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("reactive")
+class ReactiveTaskServiceIntegrationTest {
+
+    @Autowired
+    private ReactiveTaskService taskService;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @Autowired
+    private JpaTaskRepository jpaRepository;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll().block();
+    }
+
+    @Test
+    void saveAndFindById() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TASK", "DESC", null), null).block();
+
+        assertNotNull(created);
+        assertFalse(created.completed());
+        assertEquals(0, created.version());
+        StepVerifier.create(taskService.findById(created.id()))
+                .expectNext(created)
+                .verifyComplete();
+        StepVerifier.create(taskService.findById(created.id() + 1))
+                .verifyComplete();
+    }
+
+    @Test
+    void updateAppliesPartialChangesAndBumpsVersion() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TASK", "DESC", false), null).block();
+
+        StepVerifier.create(taskService.save(created.id(), new TaskRequestDTO("NEW", null, true), 0L))
+                .expectNext(new TaskResponseDTO(created.id(), "NEW", "DESC", true, 1))
+                .verifyComplete();
+        StepVerifier.create(taskService.findVersionById(created.id()))
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void updateFailsOnStaleVersionOrMissingTask() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TASK", "DESC", false), null).block();
+        taskService.save(created.id(), new TaskRequestDTO("NEW", null, null), null).block();
+
+        StepVerifier.create(taskService.save(created.id(), new TaskRequestDTO("STALE", null, null), 0L))
+                .expectError(VersionMismatchException.class)
+                .verify();
+        StepVerifier.create(taskService.save(created.id() + 1, new TaskRequestDTO("NONE", null, null), null))
+                .expectError(TaskNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void findPageFollowsCursorAndFilter() {
+        Flux.range(0, 5)
+                .concatMap(i -> taskService.save(null, new TaskRequestDTO("TASK" + i, null, i % 2 == 0), null))
+                .blockLast();
+
+        var first = taskService.findPage(new TaskFilterDTO(null), null, 3).block();
+        assertEquals(3, first.items().size());
+        assertNotNull(first.nextCursor());
+
+        var second = taskService.findPage(new TaskFilterDTO(null), first.nextCursor(), 3).block();
+        assertEquals(2, second.items().size());
+        assertNull(second.nextCursor());
+
+        var completed = taskService.findPage(new TaskFilterDTO(true), null, 10).block();
+        assertEquals(3, completed.items().size());
+        assertTrue(completed.items().stream().allMatch(TaskResponseDTO::completed));
+    }
+
+    @Test
+    void streamAllEmitsInIdOrder() {
+        Flux.range(0, 3)
+                .concatMap(i -> taskService.save(null, new TaskRequestDTO("TASK" + i, null, null), null))
+                .blockLast();
+
+        StepVerifier.create(taskService.streamAll().map(TaskResponseDTO::title))
+                .expectNext("TASK0", "TASK1", "TASK2")
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteByIdFailsForMissingTask() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TASK", "DESC", false), null).block();
+
+        StepVerifier.create(taskService.deleteById(created.id()))
+                .verifyComplete();
+        StepVerifier.create(taskService.deleteById(created.id()))
+                .expectError(TaskNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void writesUpdateStatsAndSearchIndexOnceCommitted() {
+        TaskResponseDTO kept = taskService.save(null, new TaskRequestDTO("Release notes", "DESC", false), null).block();
+        TaskResponseDTO removed = taskService.save(null, new TaskRequestDTO("Release party", "DESC", true), null).block();
+        taskService.save(kept.id(), new TaskRequestDTO("Release checklist", null, true), null).block();
+
+        assertEquals(new TaskStatsDTO(2, 2, 0), taskStats.snapshot());
+        assertEquals(List.of(kept.id()), searchIndex.search("checklist", 10));
+
+        taskService.deleteById(removed.id()).block();
+        assertEquals(new TaskStatsDTO(1, 1, 0), taskStats.snapshot());
+        assertEquals(List.of(kept.id()), searchIndex.search("release", 10));
+
+        StepVerifier.create(taskService.deleteById(removed.id()))
+                .expectError(TaskNotFoundException.class)
+                .verify();
+        assertEquals(new TaskStatsDTO(1, 1, 0), taskStats.snapshot());
+
+        taskService.deleteAll().block();
+        assertEquals(new TaskStatsDTO(0, 0, 0), taskStats.snapshot());
+        assertTrue(searchIndex.search("release", 10).isEmpty());
+    }
+
+    @Test
+    void reactiveAndJpaInsertsShareTheSequenceWithoutCollidingIds() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(taskService.save(null, new TaskRequestDTO("REACTIVE" + i, "DESC", false), null).block().id());
+            ids.add(jpaRepository.save(new Task("JPA" + i, "DESC", false)).getId());
+        }
+
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        assertEquals(ids.get(0) + 1, ids.get(2));
+        assertEquals(ids.get(2) + 1, ids.get(4));
+    }
+}
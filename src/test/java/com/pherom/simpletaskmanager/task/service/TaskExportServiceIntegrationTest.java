@@ -0,0 +1,63 @@
+package com.pherom.simpletaskmanager.task.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class TaskExportServiceIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void exportEmpty() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportAll(out);
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void saveSeveralTasksAndExportThemAsNdjson() throws IOException {
+        int taskAmount = 1200;
+        List<TaskResponseDTO> saveResponseList = new ArrayList<>(taskAmount);
+
+        for (int i = 1; i <= taskAmount; ++i) {
+            saveResponseList.add(taskService.save(null, new TaskRequestDTO("TASK" + i, "DESC" + i, i % 2 == 0)));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportAll(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(taskAmount, lines.length);
+        for (int i = 0; i < taskAmount; ++i) {
+            assertEquals(saveResponseList.get(i), objectMapper.readValue(lines[i], TaskResponseDTO.class));
+        }
+    }
+}
@@ -1,17 +1,37 @@
 package com.pherom.simpletaskmanager.task.service;
 
 import static org.junit.jupiter.api.Assertions.*;
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
+import com.pherom.simpletaskmanager.task.cache.TaskCache;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskCacheStatsDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskDeltaDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskPatchDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskStatsDTO;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
 import com.pherom.simpletaskmanager.task.exception.TaskNotFoundException;
+import com.pherom.simpletaskmanager.task.search.TaskSearchIndex;
+import com.pherom.simpletaskmanager.task.stats.TaskStats;
+import com.pherom.simpletaskmanager.task.stats.TaskStatsReconciler;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.IntStream;
 
 @SpringBootTest
@@ -20,6 +40,21 @@ class TaskServiceIntegrationTest {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @Autowired
+    private TaskSearchIndex searchIndex;
+
+    @Autowired
+    private TaskStatsReconciler taskStatsReconciler;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void reset() {
         taskService.deleteAll();
@@ -44,6 +79,35 @@ class TaskServiceIntegrationTest {
         assertEquals(completed, findResponse.get().completed());
     }
 
+    @Test
+    void outOfOrderSaveEventDoesNotOverwriteNewerCachedTask() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TITLE", "DESC", false));
+        TaskResponseDTO updated = taskService.save(created.id(), new TaskRequestDTO(null, null, true));
+        taskService.findById(created.id());
+
+        taskCache.onTaskSaved(new TaskSavedEvent(null, created));
+
+        assertEquals(updated, taskService.findById(created.id()).orElseThrow());
+    }
+
+    @Test
+    void reloadByIdRefreshesAnOutdatedCachedTask() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TITLE", "DESC", false));
+        taskCache.invalidate(created.id());
+        taskCache.merge(new TaskResponseDTO(created.id(), "STALE", "DESC", false, created.version() - 1));
+
+        assertEquals(created, taskService.reloadById(created.id()).orElseThrow());
+        assertEquals(created, taskService.findById(created.id()).orElseThrow());
+    }
+
+    @Test
+    void saveNewTaskWithoutCompletedFlagDefaultsToOpen() {
+        TaskResponseDTO saveResponse = taskService.save(null, new TaskRequestDTO("TITLE", "DESC", null));
+
+        assertFalse(saveResponse.completed());
+        assertFalse(taskService.findById(saveResponse.id()).orElseThrow().completed());
+    }
+
     @Test
     void saveNewTaskUpdateAndRetrieveIt() {
         String title = "TITLE";
@@ -70,6 +134,35 @@ class TaskServiceIntegrationTest {
         assertEquals(updatedCompleted, response.get().completed());
     }
 
+    @Test
+    void findTaskRepeatedlyAndServeFromCache() {
+        TaskResponseDTO saveResponse = taskService.save(null, new TaskRequestDTO("TITLE", "DESC", false));
+        TaskCacheStatsDTO before = taskService.cacheStats();
+
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(saveResponse, taskService.findById(saveResponse.id()).orElseThrow());
+        }
+
+        TaskCacheStatsDTO after = taskService.cacheStats();
+        assertEquals(10, after.hitCount() - before.hitCount());
+        assertEquals(0, after.missCount() - before.missCount());
+    }
+
+    @Test
+    void cachedTaskReflectsBulkPatchAndDelete() {
+        List<TaskResponseDTO> saved = taskService.saveAll(List.of(
+                new TaskRequestDTO("TASK1", "DESC1", false),
+                new TaskRequestDTO("TASK2", "DESC2", false)
+        ));
+        saved.forEach(task -> taskService.findById(task.id()));
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(false), new TaskPatchDTO(null, null, true)));
+        assertTrue(taskService.findById(saved.get(0).id()).orElseThrow().completed());
+
+        taskService.deleteAllById(List.of(saved.get(1).id()));
+        assertTrue(taskService.findById(saved.get(1).id()).isEmpty());
+    }
+
     @Test
     void updateNonExistingTask() {
         String updatedTitle = "UPDATED_TITLE";
@@ -124,6 +217,100 @@ class TaskServiceIntegrationTest {
         IntStream.range(0, taskAmount).forEach(i -> assertEquals(saveResponseList.get(i), findResponseList.get(i)));
     }
 
+    @Test
+    void saveBatchOfTasksAndFindAll() {
+        int taskAmount = 2500;
+        List<TaskRequestDTO> requests = IntStream.rangeClosed(1, taskAmount)
+                .mapToObj(i -> new TaskRequestDTO("TASK" + i, "DESC" + i, i % 2 == 0))
+                .toList();
+
+        List<TaskResponseDTO> saveResponseList = taskService.saveAll(requests);
+        List<TaskResponseDTO> findResponseList = taskService.findAll();
+
+        assertEquals(taskAmount, saveResponseList.size());
+        assertEquals(saveResponseList, findResponseList);
+        IntStream.range(0, taskAmount).forEach(i -> assertEquals(requests.get(i).title(), findResponseList.get(i).title()));
+    }
+
+    @Test
+    void saveSeveralTasksAndPageThroughThem() {
+        int taskAmount = 25;
+        int pageSize = 10;
+        List<TaskResponseDTO> saveResponseList = new ArrayList<>(taskAmount);
+
+        for (int i = 1; i <= taskAmount; ++i) {
+            saveResponseList.add(taskService.save(null, new TaskRequestDTO("TASK" + i, "DESC" + i, false)));
+        }
+
+        List<TaskResponseDTO> pagedList = new ArrayList<>(taskAmount);
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<TaskResponseDTO> page = taskService.findPage(null, cursor, pageSize);
+            pagedList.addAll(page.items());
+            cursor = page.nextCursor();
+            ++pages;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(saveResponseList, pagedList);
+    }
+
+    @Test
+    void saveSeveralTasksAndPageThroughCompletedOnes() {
+        List<TaskResponseDTO> completed = new ArrayList<>();
+        for (int i = 1; i <= 12; ++i) {
+            TaskResponseDTO saved = taskService.save(null, new TaskRequestDTO("TASK" + i, "DESC" + i, i % 3 == 0));
+            if (saved.completed()) {
+                completed.add(saved);
+            }
+        }
+
+        CursorPage<TaskResponseDTO> firstPage = taskService.findPage(new TaskFilterDTO(true), null, 3);
+        CursorPage<TaskResponseDTO> secondPage = taskService.findPage(new TaskFilterDTO(true), firstPage.nextCursor(), 3);
+        CursorPage<TaskResponseDTO> openPage = taskService.findPage(new TaskFilterDTO(false), null, 100);
+
+        assertEquals(completed.subList(0, 3), firstPage.items());
+        assertEquals(completed.subList(3, 4), secondPage.items());
+        assertNull(secondPage.nextCursor());
+        assertEquals(8, openPage.items().size());
+        assertTrue(openPage.items().stream().noneMatch(TaskResponseDTO::completed));
+    }
+
+    @Test
+    void saveSeveralTasksAndPatchSomeByIds() {
+        List<TaskResponseDTO> saved = taskService.saveAll(List.of(
+                new TaskRequestDTO("TASK1", "DESC1", false),
+                new TaskRequestDTO("TASK2", "DESC2", false),
+                new TaskRequestDTO("TASK3", "DESC3", false)
+        ));
+
+        int affected = taskService.patchAll(new TaskBulkPatchRequestDTO(
+                List.of(saved.get(0).id(), saved.get(2).id()), null, new TaskPatchDTO(null, null, true)));
+
+        assertEquals(2, affected);
+        assertEquals(new TaskResponseDTO(saved.get(0).id(), "TASK1", "DESC1", true, 1), taskService.findById(saved.get(0).id()).orElseThrow());
+        assertEquals(saved.get(1), taskService.findById(saved.get(1).id()).orElseThrow());
+        assertEquals(new TaskResponseDTO(saved.get(2).id(), "TASK3", "DESC3", true, 1), taskService.findById(saved.get(2).id()).orElseThrow());
+    }
+
+    @Test
+    void saveSeveralTasksAndPatchByFilter() {
+        List<TaskResponseDTO> saved = taskService.saveAll(List.of(
+                new TaskRequestDTO("TASK1", "DESC1", false),
+                new TaskRequestDTO("TASK2", "DESC2", true),
+                new TaskRequestDTO("TASK3", "DESC3", false)
+        ));
+
+        int affected = taskService.patchAll(new TaskBulkPatchRequestDTO(
+                null, new TaskFilterDTO(false), new TaskPatchDTO(null, "OPEN", null)));
+
+        assertEquals(2, affected);
+        assertEquals("OPEN", taskService.findById(saved.get(0).id()).orElseThrow().description());
+        assertEquals("DESC2", taskService.findById(saved.get(1).id()).orElseThrow().description());
+        assertEquals("OPEN", taskService.findById(saved.get(2).id()).orElseThrow().description());
+    }
+
     @Test
     void saveNewTaskAndDeleteIt() {
         String title = "TITLE";
@@ -139,6 +326,23 @@ class TaskServiceIntegrationTest {
         assertTrue(findResponse.isEmpty());
     }
 
+    @Test
+    void saveSeveralTasksAndDeleteSomeByIds() {
+        List<TaskResponseDTO> saved = taskService.saveAll(List.of(
+                new TaskRequestDTO("TASK1", "DESC1", false),
+                new TaskRequestDTO("TASK2", "DESC2", false),
+                new TaskRequestDTO("TASK3", "DESC3", false)
+        ));
+
+        String token = taskService.findChangesSince(null, 100).token();
+
+        int deleted = taskService.deleteAllById(List.of(saved.get(0).id(), saved.get(2).id(), saved.get(2).id() + 1000));
+
+        assertEquals(2, deleted);
+        assertEquals(List.of(saved.get(1)), taskService.findAll());
+        assertEquals(List.of(saved.get(0).id(), saved.get(2).id()), taskService.findChangesSince(token, 100).deleted());
+    }
+
     @Test
     void deleteNonExistingTask() {
         assertThrows(TaskNotFoundException.class, () -> taskService.deleteById(1));
@@ -186,4 +390,286 @@ class TaskServiceIntegrationTest {
         Optional<TaskResponseDTO> findResponse = taskService.findByTitle(title);
         assertTrue(findResponse.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveTasksWithDuplicateTitleAndFindFirstByTitle() {
+        TaskResponseDTO first = taskService.save(null, new TaskRequestDTO("TITLE", "DESC1", false));
+        taskService.save(null, new TaskRequestDTO("TITLE", "DESC2", false));
+
+        Optional<TaskResponseDTO> findResponse = taskService.findByTitle("TITLE");
+        assertTrue(findResponse.isPresent());
+        assertEquals(first, findResponse.get());
+    }
+
+    @Test
+    void saveTasksAndFindByTitlePrefix() {
+        taskService.saveAll(List.of(
+                new TaskRequestDTO("Write tests", "DESC", false),
+                new TaskRequestDTO("Review", "DESC", false),
+                new TaskRequestDTO("Write docs", "DESC", false),
+                new TaskRequestDTO("Writf", "DESC", false),
+                new TaskRequestDTO("Write", "DESC", false)
+        ));
+
+        List<String> titles = taskService.findByTitlePrefix("Write", 20).stream().map(TaskResponseDTO::title).toList();
+        assertEquals(List.of("Write", "Write docs", "Write tests"), titles);
+
+        List<String> limited = taskService.findByTitlePrefix("Write", 2).stream().map(TaskResponseDTO::title).toList();
+        assertEquals(List.of("Write", "Write docs"), limited);
+    }
+
+    @Test
+    void saveTasksAndSearchThemByTerms() {
+        List<TaskResponseDTO> saved = taskService.saveAll(List.of(
+                new TaskRequestDTO("Write release notes", "Summarize the sprint", false),
+                new TaskRequestDTO("Fix login bug", "Users cannot write their password", false),
+                new TaskRequestDTO("Plan sprint", "Pick the next stories", false),
+                new TaskRequestDTO("Write login tests", "Cover the flow", true)
+        ));
+
+        assertEquals(List.of(saved.get(0).id(), saved.get(3).id(), saved.get(1).id()), ids(taskService.search("write", 20)));
+        assertEquals(List.of(saved.get(3).id(), saved.get(1).id()), ids(taskService.search("write login", 20)));
+        assertEquals(List.of(saved.get(0).id(), saved.get(2).id()), ids(taskService.search("sprint OR release", 20)));
+        assertEquals(List.of(saved.get(0).id()), ids(taskService.search("write", 1)));
+        assertTrue(taskService.search("missing", 20).isEmpty());
+    }
+
+    @Test
+    void searchReflectsUpdatesPatchesAndDeletes() {
+        TaskResponseDTO task = taskService.save(null, new TaskRequestDTO("Write docs", "DESC", false));
+        TaskResponseDTO other = taskService.save(null, new TaskRequestDTO("Review docs", "DESC", false));
+
+        taskService.save(task.id(), new TaskRequestDTO("Publish docs", null, null));
+        assertTrue(taskService.search("write", 20).isEmpty());
+        assertEquals(List.of(task.id()), ids(taskService.search("publish", 20)));
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(false), new TaskPatchDTO(null, "Shared", null)));
+        assertEquals(List.of(task.id(), other.id()), ids(taskService.search("shared", 20)));
+
+        taskService.deleteById(task.id());
+        assertEquals(List.of(other.id()), ids(taskService.search("docs", 20)));
+
+        taskService.deleteAll();
+        assertTrue(taskService.search("docs", 20).isEmpty());
+    }
+
+    @Test
+    void outOfOrderSaveEventDoesNotOverwriteNewerIndexedTask() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("Draft notes", "DESC", false));
+        TaskResponseDTO updated = taskService.save(created.id(), new TaskRequestDTO("Final notes", null, null));
+
+        searchIndex.onTaskSaved(new TaskSavedEvent(null, created));
+
+        assertTrue(taskService.search("draft", 20).isEmpty());
+        assertEquals(List.of(updated.id()), ids(taskService.search("final", 20)));
+    }
+
+    @Test
+    void searchFollowsPatchesByIdsAndByFilter() {
+        TaskResponseDTO open = taskService.save(null, new TaskRequestDTO("Plan launch", "DESC", false));
+        TaskResponseDTO done = taskService.save(null, new TaskRequestDTO("Plan retro", "DESC", true));
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(List.of(done.id()), null, new TaskPatchDTO("Rename retro", null, false)));
+        assertEquals(List.of(done.id()), ids(taskService.search("rename", 20)));
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(false), new TaskPatchDTO(null, "Quarterly", true)));
+        assertEquals(List.of(open.id(), done.id()), ids(taskService.search("quarterly", 20)));
+    }
+
+    @Test
+    void searchSkipsRemovedPostingsAndReusesFreedTerms() {
+        List<TaskResponseDTO> saved = taskService.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> new TaskRequestDTO("Deploy service" + i, "Rollout", false))
+                .toList());
+
+        taskService.deleteAllById(saved.subList(1, 4).stream().map(TaskResponseDTO::id).toList());
+        taskService.save(saved.get(9).id(), new TaskRequestDTO("Archive", null, null));
+        assertEquals(List.of(saved.get(0).id(), saved.get(4).id(), saved.get(5).id()), ids(taskService.search("deploy rollout", 3)));
+        assertEquals(List.of(saved.get(9).id()), ids(taskService.search("archive rollout", 20)));
+
+        taskService.deleteAllById(saved.subList(4, 8).stream().map(TaskResponseDTO::id).toList());
+        assertEquals(List.of(saved.get(0).id(), saved.get(8).id()), ids(taskService.search("deploy", 20)));
+        assertTrue(taskService.search("service5", 20).isEmpty());
+
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("Deploy service5", "Rollout", false));
+        assertEquals(List.of(created.id()), ids(taskService.search("service5", 20)));
+    }
+
+    @Test
+    void statsFollowEveryKindOfChange() {
+        List<TaskResponseDTO> saved = taskService.saveAll(List.of(
+                new TaskRequestDTO("TASK1", "DESC1", false),
+                new TaskRequestDTO("TASK2", "DESC2", true),
+                new TaskRequestDTO("TASK3", "DESC3", false),
+                new TaskRequestDTO("TASK4", "DESC4", false)
+        ));
+        TaskResponseDTO single = taskService.save(null, new TaskRequestDTO("TASK5", "DESC5", true));
+        assertEquals(new TaskStatsDTO(5, 2, 3), taskService.stats());
+
+        taskService.save(saved.get(0).id(), new TaskRequestDTO(null, null, true));
+        assertEquals(new TaskStatsDTO(5, 3, 2), taskService.stats());
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(List.of(saved.get(1).id(), saved.get(2).id()), null, new TaskPatchDTO(null, null, true)));
+        assertEquals(new TaskStatsDTO(5, 4, 1), taskService.stats());
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(true), new TaskPatchDTO(null, null, false)));
+        assertEquals(new TaskStatsDTO(5, 0, 5), taskService.stats());
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(null), new TaskPatchDTO(null, null, true)));
+        assertEquals(new TaskStatsDTO(5, 5, 0), taskService.stats());
+
+        taskService.deleteById(single.id());
+        assertEquals(new TaskStatsDTO(4, 4, 0), taskService.stats());
+
+        taskService.deleteAllById(List.of(saved.get(0).id(), saved.get(1).id(), single.id()));
+        assertEquals(new TaskStatsDTO(2, 2, 0), taskService.stats());
+
+        taskService.deleteAll();
+        assertEquals(new TaskStatsDTO(0, 0, 0), taskService.stats());
+    }
+
+    @Test
+    void reconcileCorrectsDriftedStats() {
+        taskService.saveAll(List.of(new TaskRequestDTO("TASK1", "DESC1", true), new TaskRequestDTO("TASK2", "DESC2", false)));
+        taskStats.reset(100, 7);
+
+        taskStatsReconciler.reconcile();
+
+        assertEquals(new TaskStatsDTO(2, 1, 1), taskService.stats());
+    }
+
+    @Test
+    void resetWithCountsOlderThanAnAppliedChangeIsSkipped() {
+        long changes = taskStats.changes();
+        taskService.save(null, new TaskRequestDTO("TASK", "DESC", true));
+
+        assertFalse(taskStats.reset(0, 0, changes));
+        assertEquals(new TaskStatsDTO(1, 1, 0), taskService.stats());
+        assertTrue(taskStats.reset(1, 1, taskStats.changes()));
+    }
+
+    @Test
+    void versionAdvancesOnEveryWrite() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TASK", "DESC", false));
+        assertEquals(Optional.of(created.version()), taskService.findVersionById(created.id()));
+
+        TaskResponseDTO updated = taskService.save(created.id(), new TaskRequestDTO(null, null, true));
+        assertEquals(created.version() + 1, updated.version());
+        assertEquals(Optional.of(updated.version()), taskService.findVersionById(created.id()));
+        assertEquals(updated.version(), taskService.findById(created.id()).orElseThrow().version());
+
+        taskService.patchAll(new TaskBulkPatchRequestDTO(List.of(created.id()), null, new TaskPatchDTO("PATCHED", null, null)));
+        assertEquals(Optional.of(updated.version() + 1), taskService.findVersionById(created.id()));
+        assertEquals(updated.version() + 1, taskService.findById(created.id()).orElseThrow().version());
+
+        assertTrue(taskService.findVersionById(created.id() + 1000).isEmpty());
+    }
+
+    @Test
+    void saveWithStaleVersionIsRejected() {
+        TaskResponseDTO created = taskService.save(null, new TaskRequestDTO("TASK", "DESC", false));
+        TaskResponseDTO updated = taskService.save(created.id(), new TaskRequestDTO("FIRST", null, null), created.version());
+
+        assertThrows(VersionMismatchException.class,
+                () -> taskService.save(created.id(), new TaskRequestDTO("SECOND", null, null), created.version()));
+        assertEquals("FIRST", taskService.findById(created.id()).orElseThrow().title());
+
+        taskService.save(created.id(), new TaskRequestDTO("THIRD", null, null), updated.version());
+        assertEquals("THIRD", taskService.findById(created.id()).orElseThrow().title());
+    }
+
+    @Test
+    void deltaReturnsOnlyChangesSinceTheToken() {
+        List<TaskResponseDTO> created = taskService.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> new TaskRequestDTO("TASK" + i, "DESC", false))
+                .toList());
+
+        TaskDeltaDTO initial = taskService.findChangesSince(null, 100);
+        assertTrue(initial.reset());
+        assertFalse(initial.hasMore());
+        assertEquals(created, initial.changed());
+        assertEquals(initial, taskService.findChangesSince(null, 100));
+
+        TaskDeltaDTO unchanged = taskService.findChangesSince(initial.token(), 100);
+        assertFalse(unchanged.reset());
+        assertTrue(unchanged.changed().isEmpty());
+        assertTrue(unchanged.deleted().isEmpty());
+        assertEquals(initial.token(), unchanged.token());
+
+        TaskResponseDTO updated = taskService.save(created.get(1).id(), new TaskRequestDTO("RENAMED", null, null));
+        taskService.deleteById(created.get(2).id());
+        taskService.patchAll(new TaskBulkPatchRequestDTO(List.of(created.get(3).id()), null, new TaskPatchDTO(null, null, true)));
+        TaskResponseDTO added = taskService.save(null, new TaskRequestDTO("ADDED", null, false));
+
+        TaskDeltaDTO firstPage = taskService.findChangesSince(initial.token(), 2);
+        assertFalse(firstPage.reset());
+        assertTrue(firstPage.hasMore());
+        assertEquals(List.of(updated), firstPage.changed());
+        assertEquals(List.of(created.get(2).id()), firstPage.deleted());
+
+        TaskDeltaDTO secondPage = taskService.findChangesSince(firstPage.token(), 2);
+        assertFalse(secondPage.hasMore());
+        assertEquals(List.of(created.get(3).id(), added.id()), ids(secondPage.changed()));
+        assertTrue(secondPage.changed().getFirst().completed());
+        assertTrue(secondPage.deleted().isEmpty());
+    }
+
+    @Test
+    void deltaAfterDeleteAllOrForeignTokenResets() {
+        taskService.save(null, new TaskRequestDTO("BEFORE", null, false));
+        String token = taskService.findChangesSince(null, 100).token();
+
+        taskService.deleteAll();
+        TaskResponseDTO after = taskService.save(null, new TaskRequestDTO("AFTER", null, false));
+
+        TaskDeltaDTO delta = taskService.findChangesSince(token, 100);
+        assertTrue(delta.reset());
+        assertEquals(List.of(after), delta.changed());
+        assertTrue(delta.deleted().isEmpty());
+        assertFalse(taskService.findChangesSince(delta.token(), 100).reset());
+
+        TaskDeltaDTO foreign = taskService.findChangesSince(Cursors.encode(Long.MAX_VALUE), 100);
+        assertTrue(foreign.reset());
+        assertEquals(List.of(after), foreign.changed());
+    }
+
+    @Test
+    void deltaWaitsForWritesThatDrewEarlierSequences() throws Exception {
+        TaskResponseDTO held = taskService.save(null, new TaskRequestDTO("HELD", null, false));
+        String token = taskService.findChangesSince(null, 100).token();
+
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> slowWriter = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            taskService.save(held.id(), new TaskRequestDTO("UPDATED", null, null));
+            written.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        try {
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+            TaskResponseDTO added = taskService.save(null, new TaskRequestDTO("ADDED", null, false));
+
+            CompletableFuture<TaskDeltaDTO> delta = CompletableFuture.supplyAsync(() -> taskService.findChangesSince(token, 100));
+            assertThrows(TimeoutException.class, () -> delta.get(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            slowWriter.get(5, TimeUnit.SECONDS);
+            TaskDeltaDTO changes = delta.get(5, TimeUnit.SECONDS);
+            assertFalse(changes.hasMore());
+            assertEquals(List.of(held.id(), added.id()), ids(changes.changed()));
+            assertEquals("UPDATED", changes.changed().getFirst().title());
+            assertTrue(taskService.findChangesSince(changes.token(), 100).changed().isEmpty());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static List<Long> ids(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::id).toList();
+    }
+}
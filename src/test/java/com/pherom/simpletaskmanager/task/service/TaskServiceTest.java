@@ -1,17 +1,40 @@
 package com.pherom.simpletaskmanager.task.service;
 
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
+import com.pherom.simpletaskmanager.task.cache.TaskCache;
+import com.pherom.simpletaskmanager.task.dto.TaskBulkPatchRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskFilterDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskPatchDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
 import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
 import com.pherom.simpletaskmanager.task.entity.Task;
+import com.pherom.simpletaskmanager.task.event.AllTasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TaskSavedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksDeletedEvent;
+import com.pherom.simpletaskmanager.task.event.TasksPatchedEvent;
 import com.pherom.simpletaskmanager.task.exception.TaskNotFoundException;
 import com.pherom.simpletaskmanager.task.mapper.TaskMapper;
 import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository;
+import com.pherom.simpletaskmanager.task.repository.JpaTaskRepository.RemovedTask;
+import com.pherom.simpletaskmanager.task.repository.TaskSyncRepository;
+import com.pherom.simpletaskmanager.task.search.TaskSearchIndex;
+import com.pherom.simpletaskmanager.task.stats.TaskStats;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,9 +47,30 @@ class TaskServiceTest {
     @Mock
     private JpaTaskRepository taskRepository;
 
+    @Mock
+    private TaskSyncRepository taskSyncRepository;
+
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(100, Duration.ofMinutes(1), false);
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Spy
+    private TaskStats taskStats = new TaskStats();
+
+    @Mock
+    private TaskWriteTracker writeTracker;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -51,10 +95,40 @@ class TaskServiceTest {
 
         assertSame(expectedDTO, response);
 
+        verify(publisher).publishEvent(new TaskSavedEvent(null, expectedDTO));
         verify(taskRepository).save(toSave);
         verifyNoMoreInteractions(taskRepository);
     }
 
+    @Test
+    void saveAllNewTasks_ShouldPersistInOneBatchAndReturnResponses() {
+        List<TaskRequestDTO> requests = List.of(
+                new TaskRequestDTO("TITLE1", "DESC1", false),
+                new TaskRequestDTO("TITLE2", "DESC2", true)
+        );
+        List<Task> toSave = List.of(new Task("TITLE1", "DESC1", false), new Task("TITLE2", "DESC2", true));
+        List<Task> savedTasks = List.of(new Task(1, "TITLE1", "DESC1", false), new Task(2, "TITLE2", "DESC2", true));
+        List<TaskResponseDTO> expected = List.of(
+                new TaskResponseDTO(1, "TITLE1", "DESC1", false),
+                new TaskResponseDTO(2, "TITLE2", "DESC2", true)
+        );
+
+        when(taskMapper.toTask(requests.get(0))).thenReturn(toSave.get(0));
+        when(taskMapper.toTask(requests.get(1))).thenReturn(toSave.get(1));
+        when(taskRepository.saveAll(toSave)).thenReturn(savedTasks);
+        when(taskMapper.toDTO(savedTasks.get(0))).thenReturn(expected.get(0));
+        when(taskMapper.toDTO(savedTasks.get(1))).thenReturn(expected.get(1));
+
+        List<TaskResponseDTO> response = taskService.saveAll(requests);
+
+        assertEquals(expected, response);
+
+        verify(taskRepository).saveAll(toSave);
+        verify(taskRepository).flush();
+        verify(entityManager).clear();
+        verifyNoMoreInteractions(taskRepository);
+    }
+
     @Test
     void saveUpdatedTask_ShouldPersistAndReturnResponse() {
         String title = "TITLE";
@@ -72,7 +146,7 @@ class TaskServiceTest {
         TaskResponseDTO expectedDTO = new TaskResponseDTO(1L, updatedTitle, updatedDesc, updatedCompleted);
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(existing));
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(updatedTask);
         when(taskMapper.toDTO(updatedTask)).thenReturn(expectedDTO);
 
         TaskResponseDTO response = taskService.save(1L, updateRequest);
@@ -80,7 +154,7 @@ class TaskServiceTest {
         assertSame(expectedDTO, response);
 
         verify(taskRepository).findById(1L);
-        verify(taskRepository).save(updatedTask);
+        verify(taskRepository).saveAndFlush(updatedTask);
         verifyNoMoreInteractions(taskRepository);
     }
 
@@ -101,6 +175,98 @@ class TaskServiceTest {
         assertTrue(ex.getMessage().contains("1"));
     }
 
+    @Test
+    void saveUpdateWithStaleVersion_ShouldThrowVersionMismatchException() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(new Task(1L, "TITLE", "DESC", false)));
+
+        assertThrows(VersionMismatchException.class, () -> taskService.save(1L, new TaskRequestDTO("UPDATED", null, null), 5L));
+
+        verify(taskRepository).findById(1L);
+        verifyNoMoreInteractions(taskRepository);
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void saveUpdateLosingConcurrentRaceWithIfMatch_ShouldThrowVersionMismatchException() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(new Task(1L, "TITLE", "DESC", false)));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        assertThrows(VersionMismatchException.class, () -> taskService.save(1L, new TaskRequestDTO("UPDATED", null, null), 0L));
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void saveUpdateLosingConcurrentRaceWithoutIfMatch_ShouldRethrowOptimisticLockingFailure() {
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(new Task(1L, "TITLE", "DESC", false)));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.save(1L, new TaskRequestDTO("UPDATED", null, null)));
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    void patchAllByIds_ShouldUpdateOpenAndCompletedTasksSeparately() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+        TaskBulkPatchRequestDTO request = new TaskBulkPatchRequestDTO(ids, null, new TaskPatchDTO(null, null, true));
+
+        when(taskRepository.patchByIdIn(ids, false, null, null, true)).thenReturn(2);
+        when(taskRepository.patchByIdIn(ids, true, null, null, true)).thenReturn(1);
+
+        assertEquals(3, taskService.patchAll(request));
+
+        verify(publisher).publishEvent(new TasksPatchedEvent(request, 3, 2));
+        InOrder order = inOrder(taskRepository);
+        order.verify(taskRepository).patchByIdIn(ids, true, null, null, true);
+        order.verify(taskRepository).patchByIdIn(ids, false, null, null, true);
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void patchAllByIdsWithoutCompleted_ShouldIssueSingleUpdate() {
+        List<Long> ids = List.of(1L, 2L);
+        TaskBulkPatchRequestDTO request = new TaskBulkPatchRequestDTO(ids, null, new TaskPatchDTO("TITLE", null, null));
+
+        when(taskRepository.patchByIdIn(ids, null, "TITLE", null, null)).thenReturn(2);
+
+        assertEquals(2, taskService.patchAll(request));
+
+        verify(publisher).publishEvent(new TasksPatchedEvent(request, 2, 0));
+        verify(taskRepository).patchByIdIn(ids, null, "TITLE", null, null);
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void patchAllByEmptyIds_ShouldNotTouchRepository() {
+        TaskBulkPatchRequestDTO request = new TaskBulkPatchRequestDTO(List.of(), null, new TaskPatchDTO("TITLE", null, null));
+
+        assertEquals(0, taskService.patchAll(request));
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void patchAllByFilter_ShouldIssueSingleUpdate() {
+        TaskBulkPatchRequestDTO request = new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(false), new TaskPatchDTO(null, "DESC", true));
+
+        when(taskRepository.patchByCompleted(false, null, "DESC", true)).thenReturn(5);
+
+        assertEquals(5, taskService.patchAll(request));
+
+        verify(publisher).publishEvent(new TasksPatchedEvent(request, 5, 5));
+        verify(taskRepository).patchByCompleted(false, null, "DESC", true);
+        verifyNoMoreInteractions(taskRepository);
+    }
+
+    @Test
+    void patchAllWithoutMatches_ShouldNotPublish() {
+        TaskBulkPatchRequestDTO request = new TaskBulkPatchRequestDTO(null, new TaskFilterDTO(true), new TaskPatchDTO(null, null, true));
+
+        assertEquals(0, taskService.patchAll(request));
+
+        verify(taskRepository).patchByCompleted(true, null, null, true);
+        verifyNoInteractions(publisher);
+    }
+
     @Test
     void findTaskById_ShouldFindAndReturnResponse() {
         String title = "TITLE";
@@ -121,6 +287,23 @@ class TaskServiceTest {
         assertSame(expectedDTO, response.get());
     }
 
+    @Test
+    void findTaskByIdTwice_ShouldHitRepositoryOnce() {
+        Task foundTask = new Task(1L, "TITLE", "DESC", false);
+        TaskResponseDTO expectedDTO = new TaskResponseDTO(1L, "TITLE", "DESC", false);
+
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(foundTask));
+        when(taskMapper.toDTO(foundTask)).thenReturn(expectedDTO);
+
+        assertSame(expectedDTO, taskService.findById(1L).orElseThrow());
+        assertSame(expectedDTO, taskService.findById(1L).orElseThrow());
+
+        verify(taskRepository, times(1)).findById(1L);
+        verifyNoMoreInteractions(taskRepository);
+        assertEquals(1, taskService.cacheStats().hitCount());
+        assertEquals(1, taskService.cacheStats().missCount());
+    }
+
     @Test
     void findNonExistentTaskByID_ShouldReturnEmpty() {
         when(taskRepository.findById(1L)).thenReturn(Optional.empty());
@@ -165,38 +348,106 @@ class TaskServiceTest {
     }
 
     @Test
-    void deleteByTaskId_ShouldDeleteAndReturnResponseDTO() {
-        String title = "TITLE";
-        String desc = "DESC";
-        boolean completed = false;
+    void findPageWithMoreRows_ShouldReturnItemsAndNextCursor() {
+        List<Task> rows = List.of(
+                new Task(11L, "TITLE11", "DESC11", false),
+                new Task(12L, "TITLE12", "DESC12", false),
+                new Task(13L, "TITLE13", "DESC13", false)
+        );
+        List<TaskResponseDTO> expected = List.of(
+                new TaskResponseDTO(11L, "TITLE11", "DESC11", false),
+                new TaskResponseDTO(12L, "TITLE12", "DESC12", false)
+        );
+
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3))).thenReturn(rows);
+        when(taskMapper.toDTO(rows.get(0))).thenReturn(expected.get(0));
+        when(taskMapper.toDTO(rows.get(1))).thenReturn(expected.get(1));
+
+        CursorPage<TaskResponseDTO> page = taskService.findPage(null, Cursors.encode(10L), 2);
+
+        verify(taskRepository).findByIdGreaterThanOrderByIdAsc(10L, Limit.of(3));
+        verifyNoMoreInteractions(taskRepository);
+
+        assertEquals(expected, page.items());
+        assertEquals(12L, Cursors.decode(page.nextCursor()));
+    }
 
-        Task toDelete = new Task(1, title, desc, completed);
+    @Test
+    void findLastPage_ShouldReturnNoNextCursor() {
+        List<Task> rows = List.of(new Task(1L, "TITLE", "DESC", false));
+        TaskResponseDTO expectedDTO = new TaskResponseDTO(1L, "TITLE", "DESC", false);
+
+        when(taskRepository.findByIdGreaterThanOrderByIdAsc(Cursors.START, Limit.of(51))).thenReturn(rows);
+        when(taskMapper.toDTO(rows.get(0))).thenReturn(expectedDTO);
+
+        CursorPage<TaskResponseDTO> page = taskService.findPage(new TaskFilterDTO(null), null, 50);
+
+        assertEquals(List.of(expectedDTO), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void findFilteredPage_ShouldQueryByCompleted() {
+        List<Task> rows = List.of(new Task(5L, "TITLE", "DESC", true));
+        TaskResponseDTO expectedDTO = new TaskResponseDTO(5L, "TITLE", "DESC", true);
+
+        when(taskRepository.findByCompletedAndIdGreaterThanOrderByIdAsc(true, Cursors.START, Limit.of(51))).thenReturn(rows);
+        when(taskMapper.toDTO(rows.get(0))).thenReturn(expectedDTO);
 
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(toDelete));
+        CursorPage<TaskResponseDTO> page = taskService.findPage(new TaskFilterDTO(true), null, 50);
+
+        verify(taskRepository).findByCompletedAndIdGreaterThanOrderByIdAsc(true, Cursors.START, Limit.of(51));
+        verifyNoMoreInteractions(taskRepository);
+
+        assertEquals(List.of(expectedDTO), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void deleteByTaskId_ShouldDeleteWithSingleStatement() {
+        when(taskRepository.removeByIdInReturning(List.of(1L))).thenReturn(List.of(removed(1L, true)));
 
         taskService.deleteById(1L);
 
-        verify(taskRepository).findById(1L);
-        verify(taskRepository).delete(toDelete);
+        verify(publisher).publishEvent(new TaskDeletedEvent(1L, true));
+        verify(taskRepository).removeByIdInReturning(List.of(1L));
+        verify(taskSyncRepository).recordDeletes(List.of(1L));
         verifyNoMoreInteractions(taskRepository);
     }
 
     @Test
     void deleteNonExistentTaskByID_ShouldThrowTaskNotFoundException() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.removeByIdInReturning(List.of(1L))).thenReturn(List.of());
 
         TaskNotFoundException ex = assertThrows(TaskNotFoundException.class, () -> taskService.deleteById(1L));
 
-        verify(taskRepository).findById(1L);
+        verifyNoInteractions(publisher, taskSyncRepository);
+        verify(taskRepository).removeByIdInReturning(List.of(1L));
         verifyNoMoreInteractions(taskRepository);
         assertTrue(ex.getMessage().contains("1"));
     }
 
+    @Test
+    void deleteAllById_ShouldDeleteWithSingleStatement() {
+        List<Long> ids = List.of(1L, 2L, 3L);
+
+        when(taskRepository.removeByIdInReturning(ids)).thenReturn(List.of(removed(1L, true), removed(3L, false)));
+
+        assertEquals(2, taskService.deleteAllById(ids));
+
+        verify(publisher).publishEvent(new TasksDeletedEvent(List.of(1L, 3L), 2, 1));
+        verify(taskRepository).removeByIdInReturning(ids);
+        verify(taskSyncRepository).recordDeletes(List.of(1L, 3L));
+        verifyNoMoreInteractions(taskRepository);
+    }
+
     @Test
     void deleteAll_ShouldDeleteAllExistingTasks() {
         taskService.deleteAll();
 
-        verify(taskRepository).deleteAll();
+        verify(publisher).publishEvent(new AllTasksDeletedEvent());
+        verify(taskRepository).deleteAllInBatch();
+        verify(taskSyncRepository).reset();
         verifyNoMoreInteractions(taskRepository);
     }
 
@@ -209,12 +460,12 @@ class TaskServiceTest {
         Task foundTask = new Task(1L, title, desc, completed);
         TaskResponseDTO expectedDTO = new TaskResponseDTO(1L, title, desc, completed);
 
-        when(taskRepository.findByTitle(title)).thenReturn(Optional.of(foundTask));
+        when(taskRepository.findFirstByTitleOrderByIdAsc(title)).thenReturn(Optional.of(foundTask));
         when(taskMapper.toDTO(foundTask)).thenReturn(expectedDTO);
 
         Optional<TaskResponseDTO> response = taskService.findByTitle(title);
 
-        verify(taskRepository).findByTitle(title);
+        verify(taskRepository).findFirstByTitleOrderByIdAsc(title);
         verifyNoMoreInteractions(taskRepository);
 
         assertTrue(response.isPresent());
@@ -225,13 +476,75 @@ class TaskServiceTest {
     void findNonExistentTaskByTitle_ShouldReturnEmpty() {
         String title = "TITLE";
 
-        when(taskRepository.findByTitle(title)).thenReturn(Optional.empty());
+        when(taskRepository.findFirstByTitleOrderByIdAsc(title)).thenReturn(Optional.empty());
 
         Optional<TaskResponseDTO> response = taskService.findByTitle(title);
 
-        verify(taskRepository).findByTitle(title);
+        verify(taskRepository).findFirstByTitleOrderByIdAsc(title);
         verifyNoMoreInteractions(taskRepository);
 
         assertTrue(response.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findTasksByTitlePrefix_ShouldQueryIndexRange() {
+        List<Task> foundTasks = List.of(new Task(2L, "Write docs", "DESC", false), new Task(1L, "Write tests", "DESC", true));
+        List<TaskResponseDTO> expected = List.of(
+                new TaskResponseDTO(2L, "Write docs", "DESC", false),
+                new TaskResponseDTO(1L, "Write tests", "DESC", true)
+        );
+
+        when(taskRepository.findByTitleRange("Write", "Writf", Limit.of(20))).thenReturn(foundTasks);
+        when(taskMapper.toDTO(foundTasks.get(0))).thenReturn(expected.get(0));
+        when(taskMapper.toDTO(foundTasks.get(1))).thenReturn(expected.get(1));
+
+        List<TaskResponseDTO> response = taskService.findByTitlePrefix("Write", 20);
+
+        verify(taskRepository).findByTitleRange("Write", "Writf", Limit.of(20));
+        verifyNoMoreInteractions(taskRepository);
+
+        assertEquals(expected, response);
+    }
+
+    @Test
+    void search_ShouldReturnTasksInRankedOrder() {
+        List<Task> foundTasks = List.of(new Task(1L, "write docs", "DESC", false), new Task(2L, "docs", "write", false));
+        TaskResponseDTO first = new TaskResponseDTO(1L, "write docs", "DESC", false);
+        TaskResponseDTO second = new TaskResponseDTO(2L, "docs", "write", false);
+
+        when(searchIndex.search("write docs", 20)).thenReturn(List.of(2L, 1L));
+        when(taskRepository.findAllById(List.of(2L, 1L))).thenReturn(foundTasks);
+        when(taskMapper.toDTO(foundTasks.get(0))).thenReturn(first);
+        when(taskMapper.toDTO(foundTasks.get(1))).thenReturn(second);
+
+        List<TaskResponseDTO> response = taskService.search("write docs", 20);
+
+        verify(taskRepository).findAllById(List.of(2L, 1L));
+        verifyNoMoreInteractions(taskRepository);
+
+        assertEquals(List.of(second, first), response);
+    }
+
+    @Test
+    void searchWithoutMatches_ShouldNotTouchRepository() {
+        when(searchIndex.search("nothing", 20)).thenReturn(List.of());
+
+        assertTrue(taskService.search("nothing", 20).isEmpty());
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static RemovedTask removed(long id, boolean completed) {
+        return new RemovedTask() {
+            @Override
+            public long getId() {
+                return id;
+            }
+
+            @Override
+            public boolean isCompleted() {
+                return completed;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.pherom.simpletaskmanager.task.service;
+
+import com.pherom.simpletaskmanager.task.cache.TaskCache;
+import com.pherom.simpletaskmanager.task.dto.TaskRequestDTO;
+import com.pherom.simpletaskmanager.task.dto.TaskResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.pherom.simpletaskmanager.sql.SqlStatementAssertions.assertStatements;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+class TaskServiceVirtualThreadsIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void reset() {
+        taskService.deleteAll();
+    }
+
+    @Test
+    void concurrentLookupsOnVirtualThreadsLoadThroughCache() throws Exception {
+        TaskResponseDTO task = taskService.save(null, new TaskRequestDTO("TASK", "DESC", true));
+        Callable<Boolean> lookup = () -> taskService.findById(task.id()).orElseThrow().equals(task)
+                && taskService.findById(task.id() + 1).isEmpty();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Boolean> result : executor.invokeAll(Collections.nCopies(200, lookup))) {
+                assertTrue(result.get());
+            }
+        }
+    }
+
+    @Test
+    void cacheLoadsOnVirtualThreadsAreCountedForTheCaller() {
+        TaskResponseDTO task = taskService.save(null, new TaskRequestDTO("TASK", "DESC", false));
+        taskCache.invalidate(task.id());
+
+        assertStatements(1, () -> taskService.findById(task.id()));
+        assertStatements(0, () -> taskService.findById(task.id()));
+    }
+}
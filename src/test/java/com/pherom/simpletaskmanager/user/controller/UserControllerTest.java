@@ -1,15 +1,21 @@
 package com.pherom.simpletaskmanager.user.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.pagination.Cursors;
 import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
+import com.pherom.simpletaskmanager.user.dto.UserUpdateRequestDTO;
 import com.pherom.simpletaskmanager.user.service.UserService;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +35,8 @@ class UserControllerTest {
 
     @Test
     void getAllUsers_ShouldReturnEmptyListOfUsers() throws Exception {
+        when(userService.findPage(null, 50)).thenReturn(new CursorPage<>(List.of(), null));
+
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray())
@@ -37,10 +45,10 @@ class UserControllerTest {
 
     @Test
     void getAllUsers_ShouldReturnListOfAllUsers() throws Exception {
-        when(userService.findAll()).thenReturn(List.of(
+        when(userService.findPage(null, 50)).thenReturn(new CursorPage<>(List.of(
                 new UserResponseDTO(1, "Mark", "mark@gmail.com"),
                 new UserResponseDTO(2, "Anna", "anna@gmail.com")
-        ));
+        ), null));
 
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
@@ -54,4 +62,76 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[1].email").value("anna@gmail.com"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void getAllUsersPage_ShouldReturnNextCursorHeader() throws Exception {
+        String next = Cursors.encode(1);
+
+        when(userService.findPage(null, 1)).thenReturn(new CursorPage<>(List.of(
+                new UserResponseDTO(1, "Mark", "mark@gmail.com")
+        ), next));
+
+        mockMvc.perform(get("/api/users").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, next))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void getUserById_ShouldReturnUserWithETag() throws Exception {
+        when(userService.findVersionById(1)).thenReturn(Optional.of(2L));
+        when(userService.findById(1)).thenReturn(Optional.of(new UserResponseDTO(1, "Mark", "mark@gmail.com", 2)));
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.username").value("Mark"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void getUserByIdWithMatchingETag_ShouldReturnNotModified() throws Exception {
+        when(userService.findVersionById(1)).thenReturn(Optional.of(2L));
+
+        mockMvc.perform(get("/api/users/1").header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified());
+
+        verify(userService, never()).findById(1);
+    }
+
+    @Test
+    void getUserById_ShouldReturn404NotFound() throws Exception {
+        when(userService.findVersionById(1)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/users/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void updateUserWithIfMatch_ShouldReturnNewETag() throws Exception {
+        UserUpdateRequestDTO request = new UserUpdateRequestDTO("Shimon", null);
+
+        when(userService.updateById(1L, request, 2L)).thenReturn(new UserResponseDTO(1, "Shimon", "mark@gmail.com", 3));
+
+        mockMvc.perform(put("/api/users/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.username").value("Shimon"));
+    }
+
+    @Test
+    void updateUserWithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        UserUpdateRequestDTO request = new UserUpdateRequestDTO("Shimon", null);
+
+        when(userService.updateById(1L, request, 2L)).thenThrow(new VersionMismatchException(2, 3));
+
+        mockMvc.perform(put("/api/users/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
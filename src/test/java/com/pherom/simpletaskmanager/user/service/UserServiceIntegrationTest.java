@@ -1,8 +1,11 @@
 package com.pherom.simpletaskmanager.user.service;
 
+import com.pherom.simpletaskmanager.pagination.CursorPage;
+import com.pherom.simpletaskmanager.user.cache.UserLookupCache;
 import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
 import com.pherom.simpletaskmanager.user.dto.UserUpdateRequestDTO;
 import com.pherom.simpletaskmanager.user.entity.User;
+import com.pherom.simpletaskmanager.user.event.UserUpdatedEvent;
 import com.pherom.simpletaskmanager.user.exception.EmailAlreadyExistsException;
 import com.pherom.simpletaskmanager.user.exception.UserNotFoundException;
 import com.pherom.simpletaskmanager.user.exception.UsernameAlreadyExistsException;
@@ -26,6 +29,9 @@ class UserServiceIntegrationTest {
     @Autowired
     private UserService service;
 
+    @Autowired
+    private UserLookupCache lookupCache;
+
     @BeforeEach
     void reset() {
         repository.deleteAll();
@@ -110,6 +116,20 @@ class UserServiceIntegrationTest {
         assertEquals(expected, all);
     }
 
+    @Test
+    void findUsersPageByPage() {
+        User existingUser1 = repository.save(new User("Mark", "password123", "mark@gmail.com"));
+        User existingUser2 = repository.save(new User("Anna", "password246", "anna@gmail.com"));
+
+        CursorPage<UserResponseDTO> firstPage = service.findPage(null, 1);
+        CursorPage<UserResponseDTO> secondPage = service.findPage(firstPage.nextCursor(), 1);
+
+        assertEquals(List.of(new UserResponseDTO(existingUser1.getId(), existingUser1.getUsername(), existingUser1.getEmail())), firstPage.items());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(List.of(new UserResponseDTO(existingUser2.getId(), existingUser2.getUsername(), existingUser2.getEmail())), secondPage.items());
+        assertNull(secondPage.nextCursor());
+    }
+
     @Test
     void findByExistingUsername() {
         User existingUser1 = repository.save(new User("Mark", "password123", "mark@gmail.com"));
@@ -121,6 +141,40 @@ class UserServiceIntegrationTest {
         assertEquals(expected, responseDTO.get());
     }
 
+    @Test
+    void findByUsernameAfterRename() {
+        User existingUser = repository.save(new User("Mark", "password123", "mark@gmail.com"));
+        assertTrue(service.findByUsername("Mark").isPresent());
+
+        service.updateById(existingUser.getId(), new UserUpdateRequestDTO("Shimon", null));
+
+        assertTrue(service.findByUsername("Mark").isEmpty());
+        assertEquals(new UserResponseDTO(existingUser.getId(), "Shimon", "mark@gmail.com", 1), service.findByUsername("Shimon").orElseThrow());
+    }
+
+    @Test
+    void outOfOrderUpdateEventDoesNotOverwriteNewerCachedUser() {
+        User existingUser = repository.save(new User("Mark", "password123", "mark@gmail.com"));
+        UserResponseDTO renamed = service.updateById(existingUser.getId(), new UserUpdateRequestDTO("Shimon", null));
+        UserResponseDTO renamedBack = service.updateById(existingUser.getId(), new UserUpdateRequestDTO("Mark", null));
+        assertEquals(renamedBack, service.findByUsername("Mark").orElseThrow());
+
+        lookupCache.onUserUpdated(new UserUpdatedEvent("Mark", renamed));
+
+        assertTrue(service.findByUsername("Shimon").isEmpty());
+        assertEquals(renamedBack, service.findByUsername("Mark").orElseThrow());
+    }
+
+    @Test
+    void findByUsernameAfterDelete() {
+        User existingUser = repository.save(new User("Mark", "password123", "mark@gmail.com"));
+        assertTrue(service.findByUsername("Mark").isPresent());
+
+        service.deleteById(existingUser.getId());
+
+        assertTrue(service.findByUsername("Mark").isEmpty());
+    }
+
     @Test
     void findByMissingUsername() {
         Optional<UserResponseDTO> responseDTO = service.findByUsername("something");
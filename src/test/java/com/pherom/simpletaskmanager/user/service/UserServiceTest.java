@@ -1,21 +1,29 @@
 package com.pherom.simpletaskmanager.user.service;
 
+import com.pherom.simpletaskmanager.user.cache.UserLookupCache;
+import com.pherom.simpletaskmanager.user.dto.UserIdentity;
 import com.pherom.simpletaskmanager.user.dto.UserResponseDTO;
 import com.pherom.simpletaskmanager.user.dto.UserUpdateRequestDTO;
 import com.pherom.simpletaskmanager.user.entity.User;
+import com.pherom.simpletaskmanager.user.event.UserUpdatedEvent;
 import com.pherom.simpletaskmanager.user.exception.EmailAlreadyExistsException;
 import com.pherom.simpletaskmanager.user.exception.UserNotFoundException;
 import com.pherom.simpletaskmanager.user.exception.UsernameAlreadyExistsException;
 import com.pherom.simpletaskmanager.user.mapper.UserMapper;
 import com.pherom.simpletaskmanager.user.repository.JpaUserRepository;
+import com.pherom.simpletaskmanager.versioning.VersionMismatchException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,6 +38,12 @@ class UserServiceTest {
     @Mock
     private UserMapper mapper;
 
+    @Spy
+    private UserLookupCache lookupCache = new UserLookupCache(100, Duration.ofMinutes(1), 1000, false);
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
     @InjectMocks
     private UserService service;
 
@@ -43,7 +57,7 @@ class UserServiceTest {
         when(repository.findById(1L)).thenReturn(Optional.of(existingUser));
         when(repository.existsByEmail(updatedUser.getEmail())).thenReturn(false);
         when(repository.existsByUsername(updatedUser.getUsername())).thenReturn(false);
-        when(repository.save(any(User.class))).thenReturn(updatedUser);
+        when(repository.saveAndFlush(any(User.class))).thenReturn(updatedUser);
         when(mapper.toDTO(updatedUser)).thenReturn(expectedResponseDTO);
 
         UserResponseDTO updateResponse = service.updateById(existingUser.getId(), requestDTO);
@@ -52,11 +66,52 @@ class UserServiceTest {
         verify(repository).findById(1L);
         verify(repository).existsByEmail(updatedUser.getEmail());
         verify(repository).existsByUsername(updatedUser.getUsername());
-        verify(repository).save(any(User.class));
+        verify(repository).saveAndFlush(any(User.class));
+        verify(mapper).toDTO(any(User.class));
+        verify(publisher).publishEvent(new UserUpdatedEvent("Anna", expectedResponseDTO));
+        verifyNoMoreInteractions(repository, mapper);
+    }
+
+    @Test
+    void updateByIdWithLoadedLookupCache_ShouldSkipUniquenessQueries() {
+        lookupCache.load(Stream.of(new UserIdentity("Anna", "anna@gmail.com")));
+
+        User existingUser = new User(1, "Anna", "password123", "anna@gmail.com");
+        User updatedUser = new User(1, "Mark", "password123", "mark@gmail.com");
+        UserUpdateRequestDTO requestDTO = new UserUpdateRequestDTO(updatedUser.getUsername(), updatedUser.getEmail());
+        UserResponseDTO expectedResponseDTO = new UserResponseDTO(updatedUser.getId(), updatedUser.getUsername(), updatedUser.getEmail());
+
+        when(repository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(repository.saveAndFlush(any(User.class))).thenReturn(updatedUser);
+        when(mapper.toDTO(updatedUser)).thenReturn(expectedResponseDTO);
+
+        UserResponseDTO updateResponse = service.updateById(existingUser.getId(), requestDTO);
+
+        assertEquals(expectedResponseDTO, updateResponse);
+        verify(repository).findById(1L);
+        verify(repository).saveAndFlush(any(User.class));
         verify(mapper).toDTO(any(User.class));
         verifyNoMoreInteractions(repository, mapper);
     }
 
+    @Test
+    void updateByIdWithLoadedLookupCache_ShouldStillCheckPossiblyTakenUsername() {
+        lookupCache.load(Stream.of(new UserIdentity("Mark", "mark@gmail.com")));
+
+        long idToUpdate = 1;
+        UserUpdateRequestDTO requestDTO = new UserUpdateRequestDTO("Mark", null);
+        User existingUser = new User(idToUpdate, "Anna", "password123", "anna@gmail.com");
+
+        when(repository.findById(idToUpdate)).thenReturn(Optional.of(existingUser));
+        when(repository.existsByUsername("Mark")).thenReturn(true);
+
+        assertThrows(UsernameAlreadyExistsException.class, () -> service.updateById(idToUpdate, requestDTO));
+
+        verify(repository).findById(idToUpdate);
+        verify(repository).existsByUsername("Mark");
+        verifyNoMoreInteractions(repository, mapper);
+    }
+
     @Test
     void updateById_ShouldThrowUserNotFoundException() {
         long idToUpdate = 1;
@@ -199,25 +254,48 @@ class UserServiceTest {
         assertTrue(responseDTO.isEmpty());
     }
 
+    @Test
+    void findByUsernameWithLoadedLookupCache_ShouldAnswerAbsentWithoutRepository() {
+        lookupCache.load(Stream.of(new UserIdentity("Mark", "mark@gmail.com")));
+
+        Optional<UserResponseDTO> responseDTO = service.findByUsername("username");
+
+        verifyNoInteractions(repository, mapper);
+        assertTrue(responseDTO.isEmpty());
+    }
+
+    @Test
+    void findByUsernameTwice_ShouldHitRepositoryOnce() {
+        User existingUser = new User(1L, "username", "password", "email");
+        UserResponseDTO expectedResponse = new UserResponseDTO(1L, "username", "email");
+
+        when(repository.findByUsername("username")).thenReturn(Optional.of(existingUser));
+        when(mapper.toDTO(existingUser)).thenReturn(expectedResponse);
+
+        assertEquals(expectedResponse, service.findByUsername("username").orElseThrow());
+        assertEquals(expectedResponse, service.findByUsername("username").orElseThrow());
+
+        verify(repository, times(1)).findByUsername("username");
+        verifyNoMoreInteractions(repository);
+    }
+
     @Test
     void deleteById_ShouldDeleteUser() {
-        User existingUser = new User(1L, "Mark", "password123", "mark@gmail.com");
-        when(repository.findById(existingUser.getId())).thenReturn(Optional.of(existingUser));
+        when(repository.removeById(1L)).thenReturn(1);
 
-        service.deleteById(existingUser.getId());
+        service.deleteById(1L);
 
-        verify(repository).findById(existingUser.getId());
-        verify(repository).delete(existingUser);
+        verify(repository).removeById(1L);
         verifyNoMoreInteractions(repository, mapper);
     }
 
     @Test
     void deleteById_ShouldThrowUserNotFoundException() {
-        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(repository.removeById(1L)).thenReturn(0);
 
         UserNotFoundException ex = assertThrows(UserNotFoundException.class, () -> service.deleteById(1L));
 
-        verify(repository).findById(1L);
+        verify(repository).removeById(1L);
         verifyNoMoreInteractions(repository, mapper);
         assertTrue(ex.getMessage().contains("1"));
     }
@@ -226,8 +304,18 @@ class UserServiceTest {
     void deleteAll_ShouldDeleteAllUsers() {
         service.deleteAll();
 
-        verify(repository).deleteAll();
+        verify(repository).deleteAllInBatch();
         verifyNoMoreInteractions(repository, mapper);
     }
 
-}
\ No newline at end of file
+    @Test
+    void updateByIdWithStaleVersion_ShouldThrowVersionMismatchException() {
+        when(repository.findById(1L)).thenReturn(Optional.of(new User(1, "Anna", "password123", "anna@gmail.com")));
+
+        assertThrows(VersionMismatchException.class, () -> service.updateById(1L, new UserUpdateRequestDTO("Mark", null), 2L));
+
+        verify(repository).findById(1L);
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(publisher);
+    }
+}